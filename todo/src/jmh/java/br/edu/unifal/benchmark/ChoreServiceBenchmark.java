@@ -0,0 +1,68 @@
+package br.edu.unifal.benchmark;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.enumerator.ChoreFilter;
+import br.edu.unifal.service.ChoreService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChoreServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private ChoreService service;
+
+    private int added;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        service = new ChoreService(Chores.inMemory(Chores.generate(size)));
+        service.loadChores();
+        added = 0;
+    }
+
+    @Benchmark
+    public Chore addChore() {
+        int i = size + added++;
+        return service.addChore(Chores.description(i), Chores.deadline(i));
+    }
+
+    // Deletes an existing chore and adds it back, so the dataset keeps its size
+    @Benchmark
+    public void deleteChore() {
+        int i = ThreadLocalRandom.current().nextInt(size);
+        service.deleteChore(Chores.description(i), Chores.deadline(i));
+        service.addChore(Chores.description(i), Chores.deadline(i));
+    }
+
+    @Benchmark
+    public void toggleChore() {
+        int i = ThreadLocalRandom.current().nextInt(size);
+        service.toggleChore(Chores.description(i), Chores.deadline(i));
+    }
+
+    // Edits an existing chore and edits it back, so the dataset keeps its keys
+    @Benchmark
+    public void editChore() {
+        int i = ThreadLocalRandom.current().nextInt(size);
+        String description = Chores.description(i);
+        LocalDate deadline = Chores.deadline(i);
+        service.editChore(description, deadline, description + " (edited)", deadline);
+        service.editChore(description + " (edited)", deadline, description, deadline);
+    }
+
+    @Benchmark
+    public void filterChores(Blackhole blackhole) {
+        List<Chore> uncompleted = service.filterChores(ChoreFilter.UNCOMPLETED);
+        blackhole.consume(uncompleted);
+    }
+}
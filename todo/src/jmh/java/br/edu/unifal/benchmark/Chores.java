@@ -0,0 +1,66 @@
+package br.edu.unifal.benchmark;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.repository.ChoreRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datasets and helpers shared by the benchmarks
+ */
+final class Chores {
+
+    private Chores() {
+    }
+
+    static String description(int i) {
+        return "Chore #" + i;
+    }
+
+    // Deadlines are spread over the next year, so every chore can be edited and toggled
+    static LocalDate deadline(int i) {
+        return LocalDate.now().plusDays(1 + i % 365);
+    }
+
+    static List<Chore> generate(int size) {
+        List<Chore> chores = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            chores.add(new Chore(description(i), i % 2 == 0, deadline(i)));
+        }
+        return chores;
+    }
+
+    /**
+     * Repository that keeps nothing, so service benchmarks measure only the service
+     */
+    static ChoreRepository inMemory(List<Chore> chores) {
+        return new ChoreRepository() {
+            @Override
+            public List<Chore> load() {
+                return chores;
+            }
+
+            @Override
+            public boolean saveAll(List<Chore> choreList) {
+                return true;
+            }
+
+            @Override
+            public boolean save(Chore chore) {
+                return true;
+            }
+
+            @Override
+            public boolean update(Chore chore) {
+                return true;
+            }
+
+            @Override
+            public boolean delete(Chore chore) {
+                return true;
+            }
+        };
+    }
+}
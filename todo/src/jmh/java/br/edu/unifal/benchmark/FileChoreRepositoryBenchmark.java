@@ -0,0 +1,48 @@
+package br.edu.unifal.benchmark;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.repository.impl.FileChoreRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileChoreRepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private File file;
+
+    private FileChoreRepository repository;
+
+    private List<Chore> chores;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = File.createTempFile("chores-benchmark", ".json");
+        repository = FileChoreRepository.of(file.getPath());
+        chores = Chores.generate(size);
+        repository.saveAll(chores);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public List<Chore> load() {
+        return repository.load();
+    }
+
+    @Benchmark
+    public boolean saveAll() {
+        return repository.saveAll(chores);
+    }
+}
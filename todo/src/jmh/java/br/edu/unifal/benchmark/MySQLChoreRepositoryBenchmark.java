@@ -0,0 +1,85 @@
+package br.edu.unifal.benchmark;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.repository.impl.MySQLChoreRepository;
+import br.edu.unifal.repository.pool.ConnectionPool;
+import br.edu.unifal.repository.pool.ConnectionPoolConfig;
+import br.edu.unifal.repository.pool.PooledConnection;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the MySQL repository against an in-memory H2 database in MySQL mode.
+ * Pass -Dbenchmark.mysql.url=jdbc:mysql://... to the forked JVM to use a real server instead,
+ * as long as its db.chores table can be dropped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MySQLChoreRepositoryBenchmark {
+
+    private static final String H2_URL = "jdbc:h2:mem:db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private ConnectionPool pool;
+
+    private MySQLChoreRepository repository;
+
+    private List<Chore> chores;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        pool = new ConnectionPool(ConnectionPoolConfig.builder()
+                .url(System.getProperty("benchmark.mysql.url", H2_URL))
+                .build());
+        repository = new MySQLChoreRepository(pool);
+    }
+
+    // Every iteration starts from a table holding exactly size chores
+    @Setup(Level.Iteration)
+    public void setupIteration() throws SQLException {
+        try (PooledConnection connection = pool.acquire();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS db");
+            statement.execute("DROP TABLE IF EXISTS db.chores");
+            statement.execute("CREATE TABLE db.chores (`id` BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "`description` VARCHAR(255), `isCompleted` BOOLEAN, `deadline` DATE)");
+        }
+        chores = Chores.generate(size);
+        repository.saveAll(chores);
+        // Fresh chores, without ids, so saveAll inserts them
+        chores = Chores.generate(size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public List<Chore> load() {
+        return repository.load();
+    }
+
+    @Benchmark
+    public List<Chore> loadPage() {
+        return repository.loadPage((long) size / 2, 100);
+    }
+
+    @Benchmark
+    public boolean saveAll() {
+        return repository.saveAll(chores);
+    }
+
+    @Benchmark
+    public boolean save() {
+        return repository.save(new Chore("Benchmark chore", Boolean.FALSE, Chores.deadline(0)));
+    }
+}
@@ -1,8 +1,11 @@
 package br.edu.unifal;
 
 import br.edu.unifal.domain.Chore;
+import br.edu.unifal.metrics.MetricsRegistry;
 import br.edu.unifal.repository.ChoreRepository;
+import br.edu.unifal.repository.impl.CachingChoreRepository;
 import br.edu.unifal.repository.impl.FileChoreRepository;
+import br.edu.unifal.repository.impl.MeteredChoreRepository;
 import br.edu.unifal.repository.impl.MySQLChoreRepository;
 import br.edu.unifal.service.ChoreService;
 
@@ -11,7 +14,7 @@ import java.time.LocalDate;
 public class TodoApplication {
     public static void main(String[] args) {
 ////        ChoreRepository repository = new FileChoreRepository();
-        ChoreRepository repository = new MySQLChoreRepository();
+        ChoreRepository repository = new MeteredChoreRepository(new CachingChoreRepository(new MySQLChoreRepository()));
         ChoreService service = new ChoreService(repository); // injetar dependencia
         service.loadChores();
 //        service.addChore("Testing write on databse feature", LocalDate.now());
@@ -28,5 +31,7 @@ public class TodoApplication {
 
         service.printChores();
 
+        System.out.println("\nMetrics:");
+        MetricsRegistry.global().dump(System.out);
     }
 }
@@ -0,0 +1,14 @@
+package br.edu.unifal.domain;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * What changed on the repository since a marker
+ * @param changed The chores inserted or updated since the marker
+ * @param deletedIds The ids of the chores deleted since the marker
+ * @param marker The marker to ask for the next changes, or null if the repository doesn't track
+ *               changes (then changed holds every chore)
+ */
+public record ChoreChanges(List<Chore> changed, List<Long> deletedIds, LocalDateTime marker) {
+}
@@ -1,5 +1,6 @@
 package br.edu.unifal.enumerator;
 
+import br.edu.unifal.domain.Chore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,4 +16,21 @@ public enum ChoreFilter {
 
     private Long identifier;
     private String description;
+
+    /**
+     * Method to check whether a chore passes the filter
+     * @param chore The chore to be checked
+     * @return TRUE, if the chore passes the filter
+     */
+    public boolean matches(Chore chore) {
+        switch (this){
+            case COMPLETED:
+                return Boolean.TRUE.equals(chore.getIsCompleted());
+            case UNCOMPLETED:
+                return !Boolean.TRUE.equals(chore.getIsCompleted());
+            case ALL:
+            default:
+                return true;
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package br.edu.unifal.enumerator;
+
+/**
+ * Encoding of the chores written by the file repository. Either one is detected on load.
+ */
+public enum FileFormat {
+
+    // Text JSON, readable and editable by hand
+    JSON,
+
+    // Text JSON with one chore per line, which can be split on line breaks and parsed in parallel
+    NDJSON,
+
+    // Jackson's binary JSON (Smile): smaller and cheaper to parse, with repeated names and values written once
+    SMILE
+}
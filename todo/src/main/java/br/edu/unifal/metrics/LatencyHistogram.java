@@ -0,0 +1,103 @@
+package br.edu.unifal.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds. Values are kept in log-linear buckets
+ * (16 per power of two), so any percentile is reported with at most ~6% of relative error
+ * using a fixed amount of memory, however many values are recorded.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Summary of the histogram at a point in time. Latencies in nanoseconds.
+     */
+    public record Snapshot(long count, double mean, long p50, long p99, long p999, long max) {
+    }
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Method to record a latency
+     * @param nanos The latency, in nanoseconds. Negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        buckets.incrementAndGet(indexOf(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Method to get the count, mean, p50, p99, p999 and max recorded until now
+     * @return Snapshot The summary of the histogram
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[buckets.length()];
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        long highest = max.get();
+        return new Snapshot(count,
+                count == 0 ? 0.0 : (double) sum.sum() / count,
+                percentile(counts, count, 0.50, highest),
+                percentile(counts, count, 0.99, highest),
+                percentile(counts, count, 0.999, highest),
+                highest);
+    }
+
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0L);
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    private static long percentile(long[] counts, long count, double quantile, long highest) {
+        if (count == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), highest);
+            }
+        }
+        return highest;
+    }
+
+    // Values below 16 get a bucket each; above that, the bucket is picked by the
+    // position of the highest bit and the 4 bits that follow it
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,101 @@
+package br.edu.unifal.metrics;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process registry of counters and latency histograms, keyed by name
+ * (e.g. "repository.load", "mysql.rows.read"). Recording is lock-free, so it can stay
+ * on the hot path. The repositories and the service record on {@link #global()}.
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, LatencyHistogram> timers = new ConcurrentHashMap<>();
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public void increment(String name) {
+        add(name, 1L);
+    }
+
+    public void add(String name, long delta) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+    }
+
+    public void record(String name, long nanos) {
+        timers.computeIfAbsent(name, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Method to record the time elapsed since the given start
+     * @param name The name of the timer
+     * @param startNanos The start, taken from System.nanoTime()
+     */
+    public void recordSince(String name, long startNanos) {
+        record(name, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @param name The name of the counter
+     * @return long The value of the counter, or zero if nothing was counted yet
+     */
+    public long getCounter(String name) {
+        LongAdder counter = counters.get(name);
+        return Objects.isNull(counter) ? 0L : counter.sum();
+    }
+
+    /**
+     * @param name The name of the timer
+     * @return LatencyHistogram.Snapshot The summary of the timer, or null if nothing was recorded yet
+     */
+    public LatencyHistogram.Snapshot getTimer(String name) {
+        LatencyHistogram timer = timers.get(name);
+        return Objects.isNull(timer) ? null : timer.snapshot();
+    }
+
+    /**
+     * @return Map<String, Long> Every counter, ordered by name
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    /**
+     * @return Map<String, LatencyHistogram.Snapshot> Every timer, ordered by name
+     */
+    public Map<String, LatencyHistogram.Snapshot> getTimers() {
+        Map<String, LatencyHistogram.Snapshot> values = new TreeMap<>();
+        timers.forEach((name, timer) -> values.put(name, timer.snapshot()));
+        return values;
+    }
+
+    /**
+     * Method to print every counter and timer. Latencies are printed in microseconds.
+     * @param out Where to print, e.g. System.out
+     */
+    public void dump(PrintStream out) {
+        getCounters().forEach((name, value) -> out.println(name + " = " + value));
+        getTimers().forEach((name, timer) -> out.printf(
+                "%s count=%d mean=%.1fus p50=%.1fus p99=%.1fus p999=%.1fus max=%.1fus%n",
+                name, timer.count(), timer.mean() / 1000.0, timer.p50() / 1000.0,
+                timer.p99() / 1000.0, timer.p999() / 1000.0, timer.max() / 1000.0));
+    }
+
+    public void reset() {
+        counters.values().forEach(LongAdder::reset);
+        timers.values().forEach(LatencyHistogram::reset);
+    }
+}
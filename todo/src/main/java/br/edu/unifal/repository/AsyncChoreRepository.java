@@ -0,0 +1,41 @@
+package br.edu.unifal.repository;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.domain.ChoreChanges;
+import br.edu.unifal.enumerator.ChoreFilter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking counterpart of {@link ChoreRepository}: every method returns at once and its
+ * future completes with what the blocking method would have returned (null or FALSE on failure).
+ */
+public interface AsyncChoreRepository {
+
+    CompletableFuture<List<Chore>> load();
+
+    CompletableFuture<Boolean> loadEach(Consumer<Chore> consumer);
+
+    CompletableFuture<List<Chore>> loadFiltered(ChoreFilter filter);
+
+    CompletableFuture<Chore> findById(Long id);
+
+    CompletableFuture<List<Chore>> loadPage(Long afterId, int limit);
+
+    CompletableFuture<List<Chore>> loadDueBetween(LocalDate from, LocalDate to);
+
+    CompletableFuture<ChoreChanges> loadChangedSince(LocalDateTime marker);
+
+    CompletableFuture<Boolean> saveAll(List<Chore> chores);
+
+    CompletableFuture<Boolean> save(Chore chore);
+
+    CompletableFuture<Boolean> update(Chore chore);
+
+    CompletableFuture<Boolean> delete(Chore chore);
+
+}
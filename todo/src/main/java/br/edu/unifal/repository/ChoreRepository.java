@@ -1,17 +1,183 @@
 package br.edu.unifal.repository;
 
 import br.edu.unifal.domain.Chore;
+import br.edu.unifal.domain.ChoreChanges;
+import br.edu.unifal.enumerator.ChoreFilter;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public interface ChoreRepository {
 
     List<Chore> load();
 
+    /**
+     * Method to read the chores one at a time, without building the whole list first
+     * @param consumer Called for each chore, in the order they are stored
+     * @return TRUE, if every chore was read and <br/>
+     *         FALSE, if the read fails
+     */
+    default boolean loadEach(Consumer<Chore> consumer) {
+        List<Chore> chores = load();
+        if (chores == null) {
+            return false;
+        }
+        chores.forEach(consumer);
+        return true;
+    }
+
+    /**
+     * Method to load only the chores that pass the filter
+     * @param filter The condition to filter the chores
+     * @return List<Chore> The filtered chores or null, if the load fails
+     */
+    default List<Chore> loadFiltered(ChoreFilter filter) {
+        List<Chore> chores = new ArrayList<>();
+        if (!loadEach(chore -> {
+            if (filter.matches(chore)) {
+                chores.add(chore);
+            }
+        })) {
+            return null;
+        }
+        return chores;
+    }
+
+    /**
+     * Method to find a single chore by its id
+     * @param id The id of the chore
+     * @return Chore The chore or null, if there is no chore with the id or the load fails
+     */
+    default Chore findById(Long id) {
+        Chore[] found = new Chore[1];
+        loadEach(chore -> {
+            if (id != null && id.equals(chore.getId())) {
+                found[0] = chore;
+            }
+        });
+        return found[0];
+    }
+
+    /**
+     * Method to load the chores page by page, ordered by id
+     * @param afterId The id of the last chore of the previous page, or null for the first page
+     * @param limit The maximum number of chores in the page
+     * @return List<Chore> The chores with id greater than afterId or null, if the load fails
+     */
+    default List<Chore> loadPage(Long afterId, int limit) {
+        List<Chore> chores = load();
+        if (chores == null) {
+            return null;
+        }
+        long after = afterId == null ? Long.MIN_VALUE : afterId;
+        return chores.stream()
+                .filter(chore -> chore.getId() != null && chore.getId() > after)
+                .sorted(Comparator.comparing(Chore::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Method to load the chores with a deadline inside the range, e.g. without reading the
+     * chores due on other months where the storage is partitioned by deadline
+     * @param from The first day of the range (inclusive)
+     * @param to The last day of the range (inclusive)
+     * @return List<Chore> The chores due in the range or null, if the load fails
+     */
+    default List<Chore> loadDueBetween(LocalDate from, LocalDate to) {
+        List<Chore> chores = new ArrayList<>();
+        boolean loaded = loadEach(chore -> {
+            LocalDate deadline = chore.getDeadline();
+            if (deadline != null && !deadline.isBefore(from) && !deadline.isAfter(to)) {
+                chores.add(chore);
+            }
+        });
+        return loaded ? chores : null;
+    }
+
+    /**
+     * Method to load only what changed since a previous call. Repositories without change
+     * tracking return every chore and a null marker.
+     * @param marker The marker returned by the previous call, or null to load every chore
+     * @return ChoreChanges The changed chores, the deleted ids and the next marker or null, if the load fails
+     */
+    default ChoreChanges loadChangedSince(LocalDateTime marker) {
+        List<Chore> chores = load();
+        if (chores == null) {
+            return null;
+        }
+        return new ChoreChanges(chores, List.of(), null);
+    }
+
     boolean saveAll(List<Chore> chores);
 
+    /**
+     * Method to replace every stored chore, like saveAll, but so that a failure or a crash midway
+     * leaves the previous chores in place. Repositories whose saveAll already is keep the default.
+     * @param chores The chores to be written
+     * @return TRUE, if the chores were written and <br/>
+     *         FALSE, if the write fails (the previous chores are kept)
+     */
+    default boolean saveSnapshot(List<Chore> chores) {
+        return saveAll(chores);
+    }
+
+    /**
+     * Method to write a batch of single-chore changes: chores without an id are inserted and
+     * the others updated. Unlike saveAll, the chores outside the batch are left untouched.
+     * @param chores The chores to be written
+     * @return TRUE, if every chore was written and <br/>
+     *         FALSE, if a write fails
+     */
+    default boolean saveBatch(List<Chore> chores) {
+        boolean saved = true;
+        for (Chore chore : chores) {
+            saved &= chore.getId() == null ? save(chore) : update(chore);
+        }
+        return saved;
+    }
+
+    /**
+     * Method to delete a batch of chores
+     * @param chores The chores to be deleted
+     * @return TRUE, if every chore was deleted and <br/>
+     *         FALSE, if a delete fails
+     */
+    default boolean deleteBatch(List<Chore> chores) {
+        boolean deleted = true;
+        for (Chore chore : chores) {
+            deleted &= delete(chore);
+        }
+        return deleted;
+    }
+
+    /**
+     * Method to write the changes acknowledged but not written yet, as by a write-behind queue.
+     * Repositories that write each change before returning have nothing to flush.
+     * @return TRUE, if nothing is left to write and <br/>
+     *         FALSE, if a write fails
+     */
+    default boolean flush() {
+        return true;
+    }
+
+    /**
+     * Method to be told when a chore gets its id after save returned, as when the insert is only
+     * written later, in the background. Repositories that set the id within save never call it.
+     * @param listener Called with each chore once it has its id
+     */
+    default void onIdAssigned(Consumer<Chore> listener) {
+    }
+
     boolean save(Chore chore);
 
     boolean update(Chore chore);
 
+    boolean delete(Chore chore);
+
 }
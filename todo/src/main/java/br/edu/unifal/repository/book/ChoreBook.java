@@ -1,9 +1,29 @@
 package br.edu.unifal.repository.book;
 
 public class ChoreBook {
-    public static final String FIND_ALL_CHORES = "SELECT * FROM db.chores;";
+    public static final String FIND_ALL_CHORES = "SELECT * FROM db.chores";
 
-    public static final String INSERT_CHORE = "INSERT INTO db.chores (`description`, `isCompleted`, `deadline`) VALUES (?,?,?);";
+    public static final String FIND_CHORES_BY_STATUS = "SELECT * FROM db.chores WHERE db.chores.isCompleted = ?";
+
+    public static final String FIND_CHORE_BY_ID = "SELECT * FROM db.chores WHERE db.chores.id = ?";
+
+    public static final String FIND_CHORES_PAGE = "SELECT * FROM db.chores WHERE db.chores.id > ? ORDER BY db.chores.id LIMIT ?";
+
+    public static final String FIND_CHORES_DUE_BETWEEN = "SELECT * FROM db.chores WHERE db.chores.deadline BETWEEN ? AND ?";
+
+    // Change tracking, see resources/db/change-tracking.sql
+    public static final String CURRENT_TIMESTAMP = "SELECT CURRENT_TIMESTAMP(6)";
+
+    public static final String FIND_CHORES_CHANGED_SINCE = "SELECT * FROM db.chores WHERE db.chores.updated_at >= ?";
+
+    public static final String FIND_CHORES_DELETED_SINCE = "SELECT id FROM db.deleted_chores WHERE db.deleted_chores.deleted_at >= ?";
+
+    public static final String INSERT_CHORE = "INSERT INTO db.chores (`description`, `isCompleted`, `deadline`) VALUES (?,?,?)";
 
     public static final String UPDATE_CHORE = "UPDATE db.chores SET `description` = ?, `deadline` = ? WHERE db.chores.id = ?;";
+
+    public static final String DELETE_CHORE = "DELETE FROM db.chores WHERE db.chores.id = ?";
+
+    // Also persists the chore's status, so toggles are saved
+    public static final String UPDATE_CHORE_WITH_STATUS = "UPDATE db.chores SET `description` = ?, `isCompleted` = ?, `deadline` = ? WHERE db.chores.id = ?";
 }
@@ -0,0 +1,316 @@
+package br.edu.unifal.repository.impl;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.domain.ChoreChanges;
+import br.edu.unifal.enumerator.ChoreFilter;
+import br.edu.unifal.metrics.MetricsRegistry;
+import br.edu.unifal.repository.ChoreRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Read-through decorator that caches chores by id, e.g. in front of {@link MySQLChoreRepository}.
+ * findById is served from the cache when it can; loads fill it too, but only when every chore they
+ * read fits in it, as a bigger load would just evict the whole cache. The least recently used
+ * chores are evicted past maximumSize, and entries older than the TTL (if any) are reloaded.
+ * Writes go straight to the wrapped repository and invalidate the chores they touch.
+ * The cache keeps its own copies, so changing a returned chore doesn't change the cached one.
+ */
+public class CachingChoreRepository implements ChoreRepository {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private record Entry(Chore chore, long loadedAt) { }
+
+    private final ChoreRepository repository;
+    private final int maximumSize;
+    private final long ttlNanos;
+
+    // Access-ordered, so the eldest entry is the least recently used
+    private final LinkedHashMap<Long, Entry> cache;
+
+    // Bumped by every invalidation, so a load that raced with a write doesn't cache what it read
+    private long generation;
+
+    private final MetricsRegistry metrics = MetricsRegistry.global();
+
+    /**
+     * @param repository The repository to be cached
+     * @param maximumSize The maximum number of cached chores
+     * @param ttl How long a cached chore is served before being reloaded, or null to keep it until evicted
+     */
+    public CachingChoreRepository(ChoreRepository repository, int maximumSize, Duration ttl) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be greater than zero");
+        }
+        this.repository = repository;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = Objects.isNull(ttl) ? 0L : ttl.toNanos();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > maximumSize) {
+                    metrics.increment("cache.evictions");
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public CachingChoreRepository(ChoreRepository repository, int maximumSize) {
+        this(repository, maximumSize, null);
+    }
+
+    public CachingChoreRepository(ChoreRepository repository) {
+        this(repository, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    @Override
+    public Chore findById(Long id) {
+        if (Objects.isNull(id)) {
+            return null;
+        }
+        long loadGeneration;
+        synchronized (cache) {
+            Entry entry = cache.get(id);
+            if (Objects.nonNull(entry) && !isExpired(entry)) {
+                metrics.increment("cache.hits");
+                return copyOf(entry.chore());
+            }
+            loadGeneration = generation;
+        }
+        metrics.increment("cache.misses");
+        Chore chore = repository.findById(id);
+        if (Objects.nonNull(chore)) {
+            put(List.of(chore), loadGeneration);
+        }
+        return chore;
+    }
+
+    @Override
+    public List<Chore> load() {
+        long loadGeneration = currentGeneration();
+        List<Chore> chores = repository.load();
+        if (Objects.nonNull(chores)) {
+            put(chores, loadGeneration);
+        }
+        return chores;
+    }
+
+    /**
+     * The chores read are cached at once when the read ends, and only kept until then while they fit
+     */
+    @Override
+    public boolean loadEach(Consumer<Chore> consumer) {
+        long loadGeneration = currentGeneration();
+        List<Chore> loaded = new ArrayList<>();
+        boolean[] fits = {true};
+        boolean read = repository.loadEach(chore -> {
+            if (fits[0] && loaded.size() < maximumSize) {
+                // Copied before the consumer gets the chore, as it may change it
+                loaded.add(copyOf(chore));
+            } else if (fits[0]) {
+                fits[0] = false;
+                loaded.clear();
+            }
+            consumer.accept(chore);
+        });
+        if (read && fits[0]) {
+            put(loaded, loadGeneration);
+        }
+        return read;
+    }
+
+    @Override
+    public List<Chore> loadFiltered(ChoreFilter filter) {
+        long loadGeneration = currentGeneration();
+        List<Chore> chores = repository.loadFiltered(filter);
+        if (Objects.nonNull(chores)) {
+            put(chores, loadGeneration);
+        }
+        return chores;
+    }
+
+    @Override
+    public List<Chore> loadPage(Long afterId, int limit) {
+        long loadGeneration = currentGeneration();
+        List<Chore> chores = repository.loadPage(afterId, limit);
+        if (Objects.nonNull(chores)) {
+            put(chores, loadGeneration);
+        }
+        return chores;
+    }
+
+    @Override
+    public List<Chore> loadDueBetween(LocalDate from, LocalDate to) {
+        long loadGeneration = currentGeneration();
+        List<Chore> chores = repository.loadDueBetween(from, to);
+        if (Objects.nonNull(chores)) {
+            put(chores, loadGeneration);
+        }
+        return chores;
+    }
+
+    @Override
+    public ChoreChanges loadChangedSince(LocalDateTime marker) {
+        long loadGeneration = currentGeneration();
+        ChoreChanges changes = repository.loadChangedSince(marker);
+        if (Objects.nonNull(changes)) {
+            put(changes.changed(), loadGeneration);
+            synchronized (cache) {
+                generation++;
+                changes.deletedIds().forEach(cache::remove);
+            }
+        }
+        return changes;
+    }
+
+    @Override
+    public boolean saveAll(List<Chore> chores) {
+        try {
+            return repository.saveAll(chores);
+        } finally {
+            // saveAll may rewrite every chore (e.g. the file repository), so nothing cached is trusted
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean saveSnapshot(List<Chore> chores) {
+        try {
+            return repository.saveSnapshot(chores);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean saveBatch(List<Chore> chores) {
+        try {
+            return repository.saveBatch(chores);
+        } finally {
+            chores.forEach(chore -> invalidate(chore.getId()));
+        }
+    }
+
+    @Override
+    public boolean deleteBatch(List<Chore> chores) {
+        try {
+            return repository.deleteBatch(chores);
+        } finally {
+            chores.forEach(chore -> invalidate(chore.getId()));
+        }
+    }
+
+    @Override
+    public boolean flush() {
+        return repository.flush();
+    }
+
+    @Override
+    public void onIdAssigned(Consumer<Chore> listener) {
+        repository.onIdAssigned(listener);
+    }
+
+    @Override
+    public boolean save(Chore chore) {
+        try {
+            return repository.save(chore);
+        } finally {
+            invalidate(chore.getId());
+        }
+    }
+
+    @Override
+    public boolean update(Chore chore) {
+        try {
+            return repository.update(chore);
+        } finally {
+            invalidate(chore.getId());
+        }
+    }
+
+    @Override
+    public boolean delete(Chore chore) {
+        try {
+            return repository.delete(chore);
+        } finally {
+            invalidate(chore.getId());
+        }
+    }
+
+    public void invalidate(Long id) {
+        synchronized (cache) {
+            generation++;
+            if (Objects.nonNull(id)) {
+                cache.remove(id);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            generation++;
+            cache.clear();
+        }
+    }
+
+    /**
+     * @return int The number of cached chores, expired ones included
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private long currentGeneration() {
+        synchronized (cache) {
+            return generation;
+        }
+    }
+
+    private void put(List<Chore> chores, long loadGeneration) {
+        if (chores.size() > maximumSize) {
+            metrics.increment("cache.skipped");
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (cache) {
+            // A write happened meanwhile, so what was read may be older than what is cached
+            boolean raced = generation != loadGeneration;
+            for (Chore chore : chores) {
+                if (Objects.isNull(chore.getId())) {
+                    continue;
+                }
+                if (raced) {
+                    cache.remove(chore.getId());
+                } else {
+                    cache.put(chore.getId(), new Entry(copyOf(chore), now));
+                }
+            }
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return ttlNanos > 0 && System.nanoTime() - entry.loadedAt() > ttlNanos;
+    }
+
+    private static Chore copyOf(Chore chore) {
+        return Chore.builder()
+                .id(chore.getId())
+                .description(chore.getDescription())
+                .isCompleted(chore.getIsCompleted())
+                .deadline(chore.getDeadline())
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package br.edu.unifal.repository.impl;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.domain.ChoreChanges;
+import br.edu.unifal.enumerator.ChoreFilter;
+import br.edu.unifal.repository.AsyncChoreRepository;
+import br.edu.unifal.repository.ChoreRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs each call of a blocking {@link ChoreRepository} as its own task on an executor.
+ * By default the executor starts a virtual thread per task when the JVM has them (Java 21+),
+ * so thousands of calls can wait on I/O without as many platform threads; on older JVMs it
+ * falls back to a bounded pool of platform threads. The wrapped repository must be thread-safe,
+ * as MySQLChoreRepository (bounded by its connection pool) and FileChoreRepository are.
+ */
+public class ExecutorAsyncChoreRepository implements AsyncChoreRepository, AutoCloseable {
+
+    // Platform threads used when virtual threads aren't available
+    public static final int DEFAULT_PLATFORM_THREADS = 64;
+
+    private final ChoreRepository repository;
+    private final ExecutorService executor;
+
+    public ExecutorAsyncChoreRepository(ChoreRepository repository, ExecutorService executor) {
+        this.repository = repository;
+        this.executor = executor;
+    }
+
+    public ExecutorAsyncChoreRepository(ChoreRepository repository) {
+        this(repository, newTaskExecutor());
+    }
+
+    /**
+     * Method to create the default executor: a virtual thread per task on Java 21+,
+     * otherwise DEFAULT_PLATFORM_THREADS daemon threads
+     * @return ExecutorService The executor
+     */
+    public static ExecutorService newTaskExecutor() {
+        try {
+            // Looked up reflectively, so the code still compiles and runs on Java 17
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException exception) {
+            AtomicInteger threads = new AtomicInteger();
+            return Executors.newFixedThreadPool(DEFAULT_PLATFORM_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "chore-async-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<Chore>> load() {
+        return submit(repository::load);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> loadEach(Consumer<Chore> consumer) {
+        return submit(() -> repository.loadEach(consumer));
+    }
+
+    @Override
+    public CompletableFuture<List<Chore>> loadFiltered(ChoreFilter filter) {
+        return submit(() -> repository.loadFiltered(filter));
+    }
+
+    @Override
+    public CompletableFuture<Chore> findById(Long id) {
+        return submit(() -> repository.findById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Chore>> loadPage(Long afterId, int limit) {
+        return submit(() -> repository.loadPage(afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<Chore>> loadDueBetween(LocalDate from, LocalDate to) {
+        return submit(() -> repository.loadDueBetween(from, to));
+    }
+
+    @Override
+    public CompletableFuture<ChoreChanges> loadChangedSince(LocalDateTime marker) {
+        return submit(() -> repository.loadChangedSince(marker));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> saveAll(List<Chore> chores) {
+        return submit(() -> repository.saveAll(chores));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> save(Chore chore) {
+        return submit(() -> repository.save(chore));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> update(Chore chore) {
+        return submit(() -> repository.update(chore));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(Chore chore) {
+        return submit(() -> repository.delete(chore));
+    }
+
+    /**
+     * Stops taking new calls and waits for the running ones to finish
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.out.println("ERROR: Timed out waiting for the pending chore operations.");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(operation, executor);
+    }
+}
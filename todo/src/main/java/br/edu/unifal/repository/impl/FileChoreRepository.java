@@ -1,31 +1,155 @@
 package br.edu.unifal.repository.impl;
 
 import br.edu.unifal.domain.Chore;
+import br.edu.unifal.enumerator.FileFormat;
+import br.edu.unifal.metrics.MetricsRegistry;
 import br.edu.unifal.repository.ChoreRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * Repository that keeps every chore on a file, as text JSON, newline-delimited JSON or binary Smile
+ * and optionally GZIP-compressed (see {@link #of(String, FileFormat, boolean)}). Both the format and
+ * the compression are detected on load, so any of these files can be read whatever the repository
+ * writes. An uncompressed newline-delimited file is split into chunks on line breaks, which load
+ * parses in parallel on the common ForkJoinPool.
+ */
 public class FileChoreRepository implements ChoreRepository {
 
+    public static final String DEFAULT_PATH = "chores.json";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Bounds of the chunks a newline-delimited file is split into: each task reads its chunk whole
+    private static final long MIN_CHUNK_SIZE = 4L * 1024 * 1024;
+    private static final long MAX_CHUNK_SIZE = 64L * 1024 * 1024;
+
+    // Every Smile document starts with ":)\n" when written with its header, as it is by default
+    private static final byte[] SMILE_HEADER = { ':', ')', '\n' };
+
+    // Readers and writers are immutable and resolve their type once, so they are shared by every repository
+    private static final SmileMapper SMILE_MAPPER = SmileMapper.builder(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build())
+            .findAndAddModules()
+            .build();
+    private static final ObjectReader SMILE_READER = SMILE_MAPPER.readerFor(Chore[].class);
+    private static final ObjectReader SMILE_CHORE_READER = SMILE_MAPPER.readerFor(Chore.class);
+    private static final ObjectWriter SMILE_WRITER = SMILE_MAPPER.writerFor(new TypeReference<List<Chore>>() { });
+
     private ObjectMapper mapper;
+    // Built from the mapper on first use and kept, so the hot paths don't resolve the type on every call
+    private ObjectReader choreReader;
+    private ObjectWriter lineWriter;
+    private File file;
+    private FileFormat format = FileFormat.JSON;
+    private boolean compressed;
+    // Serialization times and bytes read and written ("file.*")
+    private final MetricsRegistry metrics = MetricsRegistry.global();
     public FileChoreRepository(){
         mapper = new ObjectMapper().findAndRegisterModules();
+        file = new File(DEFAULT_PATH);
+    }
+
+    /**
+     * Method to create a repository that reads and writes the given file instead of chores.json
+     * @param path The path of the file
+     * @return FileChoreRepository The repository
+     */
+    public static FileChoreRepository of(String path){
+        return of(path, false);
+    }
+
+    /**
+     * Method to create a repository that reads and writes the given file
+     * @param path The path of the file
+     * @param compressed TRUE, to write the chores as a GZIP-compressed snapshot and <br/>
+     *                   FALSE, to write plain JSON
+     * @return FileChoreRepository The repository
+     */
+    public static FileChoreRepository of(String path, boolean compressed){
+        return of(path, FileFormat.JSON, compressed);
+    }
+
+    /**
+     * Method to create a repository that reads and writes the given file
+     * @param path The path of the file
+     * @param format The format the chores are written in
+     * @param compressed TRUE, to compress the chores written with GZIP and <br/>
+     *                   FALSE, to write them as they are
+     * @return FileChoreRepository The repository
+     */
+    public static FileChoreRepository of(String path, FileFormat format, boolean compressed){
+        FileChoreRepository repository = new FileChoreRepository();
+        repository.file = new File(path);
+        repository.format = format;
+        repository.compressed = compressed;
+        return repository;
     }
 
     @Override
-    public List<Chore> load() {
+    public synchronized List<Chore> load() {
         try{
-            // Array.asList -> Gera uma lista IMUTÁVEL
-            return new ArrayList<>(
-                    Arrays.asList(
-                            mapper.readValue(new File("chores.json"), Chore[].class))
-            );
+            long start = System.nanoTime();
+            byte[] head = readHead();
+            List<Chore> chores;
+            if (Objects.nonNull(head) && head.length == 0) {
+                // e.g. a newline-delimited file saved without chores
+                chores = new ArrayList<>();
+            } else if (isPlainJson(head)) {
+                // Array.asList -> Gera uma lista IMUTÁVEL
+                chores = new ArrayList<>(Arrays.asList(mapper.readValue(file, Chore[].class)));
+            } else if (isNewlineDelimited(head)) {
+                chores = loadInParallel();
+            } else {
+                try (BufferedInputStream input = open()) {
+                    chores = readAll(input);
+                }
+            }
+            metrics.recordSince("file.deserialize", start);
+            metrics.add("file.bytes.read", file.length());
+            return chores;
         } catch (MismatchedInputException exception){
             System.out.println("Unable to convert the content of the file into Chores!");
 
@@ -35,25 +159,344 @@ public class FileChoreRepository implements ChoreRepository {
         return new ArrayList<>();
     }
 
+    /**
+     * Streams the file with Jackson's token parser, so only one chore is in memory at a time
+     */
+    @Override
+    public synchronized boolean loadEach(Consumer<Chore> consumer) {
+        long start = System.nanoTime();
+        try (JsonParser parser = createParser()) {
+            JsonToken token = parser.nextToken();
+            // Chores are wrapped in an array, or are root-level objects when newline-delimited
+            // (then, no content at all means no chores)
+            JsonToken end = null;
+            if (token == JsonToken.START_ARRAY) {
+                end = JsonToken.END_ARRAY;
+                token = parser.nextToken();
+            } else if (Objects.nonNull(token) && token != JsonToken.START_OBJECT) {
+                throw MismatchedInputException.from(parser, Chore[].class, "Expected an array of chores");
+            }
+            while (token == JsonToken.START_OBJECT) {
+                consumer.accept(parser instanceof SmileParser
+                        ? SMILE_CHORE_READER.readValue(parser)
+                        : choreReader().readValue(parser));
+                token = parser.nextToken();
+            }
+            if (token != end) {
+                throw MismatchedInputException.from(parser, Chore.class, "Expected a chore");
+            }
+            metrics.recordSince("file.deserialize", start);
+            metrics.add("file.bytes.read", file.length());
+            return true;
+        } catch (MismatchedInputException exception){
+            System.out.println("Unable to convert the content of the file into Chores!");
+
+        } catch (IOException exception){
+            System.out.println("ERROR: Unable to open file.");
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized boolean saveAll(List<Chore> chores){
+        try {
+            long start = System.nanoTime();
+            write(file, chores);
+            metrics.recordSince("file.serialize", start);
+            metrics.add("file.bytes.written", file.length());
+            return true;
+        } catch (IOException exception) {
+            System.out.println("ERROR: Unable to write the chores on the file.");
+        }
+        return false;
+    }
+
+    /**
+     * Writes the chores to a temporary file next to the current one, forces it to disk and only
+     * then renames it over the current file, so a reader or a crash sees either the old or the
+     * new chores, never a file written halfway.
+     */
     @Override
-    public boolean saveAll(List<Chore> chores){
+    public synchronized boolean saveSnapshot(List<Chore> chores){
+        Path target = file.getAbsoluteFile().toPath();
+        Path temporary = null;
         try {
-            mapper.writeValue(new File("chores.json"), chores);
+            long start = System.nanoTime();
+            // A plain new file, so the chores file keeps the permissions a direct write gives it
+            // (a Files.createTempFile one would only be readable by its owner)
+            temporary = target.resolveSibling(target.getFileName() + ".tmp");
+            write(temporary.toFile(), chores);
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            replace(temporary, target);
+            metrics.recordSince("file.serialize", start);
+            metrics.add("file.bytes.written", file.length());
             return true;
         } catch (IOException exception) {
             System.out.println("ERROR: Unable to write the chores on the file.");
+            deleteQuietly(temporary);
         }
         return false;
     }
 
-    // TODO
+    // A single chore can't be written without rewriting the whole file, so the plain
+    // file only persists through saveAll. JournaledFileChoreRepository supports these.
     @Override
     public boolean save(Chore chore) {
-        throw new RuntimeException("Operation not supported yet.");
+        return false;
     }
 
     @Override
     public boolean update(Chore chore){
-        throw new RuntimeException("Operation not supported yet.");
+        return false;
+    }
+
+    @Override
+    public boolean delete(Chore chore){
+        return false;
+    }
+
+    // The first bytes of the file, as stored, or null if it can't be read
+    private byte[] readHead() {
+        try (InputStream input = new FileInputStream(file)) {
+            return input.readNBytes(SMILE_HEADER.length);
+        } catch (IOException exception) {
+            // Missing or unreadable: the plain read reports it
+            return null;
+        }
+    }
+
+    // Every GZIP stream starts with the same two bytes (RFC 1952), every Smile one with its header
+    // and every newline-delimited one with a chore, while a JSON file starts with an array
+    private static boolean isPlainJson(byte[] head) {
+        return Objects.isNull(head) || !isGzip(head) && !startsWith(head, SMILE_HEADER) && !isNewlineDelimited(head);
+    }
+
+    private static boolean isNewlineDelimited(byte[] head) {
+        return Objects.nonNull(head) && head.length > 0 && head[0] == '{';
+    }
+
+    private JsonParser createParser() throws IOException {
+        if (isPlainJson(readHead())) {
+            return mapper.getFactory().createParser(file);
+        }
+        BufferedInputStream input = open();
+        try {
+            return isSmile(input)
+                    ? SMILE_CHORE_READER.createParser(input)
+                    : mapper.getFactory().createParser(input);
+        } catch (IOException exception) {
+            input.close();
+            throw exception;
+        }
+    }
+
+    // Opens the file past the GZIP layer, if any, so the format can be peeked from the stream
+    private BufferedInputStream open() throws IOException {
+        BufferedInputStream input = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+        try {
+            input.mark(2);
+            boolean gzip = isGzip(input.readNBytes(2));
+            input.reset();
+            return gzip
+                    ? new BufferedInputStream(new GZIPInputStream(input, BUFFER_SIZE), BUFFER_SIZE)
+                    : input;
+        } catch (IOException exception) {
+            input.close();
+            throw exception;
+        }
+    }
+
+    private static boolean isSmile(BufferedInputStream input) throws IOException {
+        input.mark(SMILE_HEADER.length);
+        byte[] head = input.readNBytes(SMILE_HEADER.length);
+        input.reset();
+        return startsWith(head, SMILE_HEADER);
+    }
+
+    // Reads a stream that can't be split (e.g. compressed) on the calling thread
+    private List<Chore> readAll(BufferedInputStream input) throws IOException {
+        if (isSmile(input)) {
+            return new ArrayList<>(Arrays.asList(SMILE_READER.<Chore[]>readValue(input)));
+        }
+        input.mark(1);
+        int first = input.read();
+        input.reset();
+        if (first < 0) {
+            return new ArrayList<>();
+        }
+        if (first != '{') {
+            return new ArrayList<>(Arrays.asList(mapper.readValue(input, Chore[].class)));
+        }
+        try (MappingIterator<Chore> chores = choreReader().readValues(input)) {
+            return chores.readAll(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Splits the file into chunks that end on line breaks and parses each chunk as a task on the
+     * common ForkJoinPool. Each task reads its own chunk, so reading is spread across the cores too.
+     * The chunks are merged in file order.
+     */
+    private List<Chore> loadInParallel() throws IOException {
+        ObjectReader reader = choreReader();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<ForkJoinTask<List<Chore>>> tasks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, size / (4L * pool.getParallelism()) + 1));
+            try {
+                for (long from = 0; from < size; ) {
+                    long chunkStart = from;
+                    long chunkEnd = nextLineStart(channel, Math.min(from + chunkSize, size), size);
+                    tasks.add(pool.submit(() -> parseChunk(channel, reader, chunkStart, chunkEnd)));
+                    from = chunkEnd;
+                }
+                metrics.add("file.chunks", tasks.size());
+                List<Chore> chores = new ArrayList<>();
+                for (ForkJoinTask<List<Chore>> task : tasks) {
+                    chores.addAll(task.get());
+                }
+                return chores;
+            } catch (ExecutionException exception) {
+                Throwable cause = exception.getCause();
+                throw cause instanceof UncheckedIOException unchecked ? unchecked.getCause() : new IOException(cause);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while loading the chores");
+            } finally {
+                // On failure, the chunks not parsed yet are dropped before the channel closes
+                tasks.forEach(task -> task.cancel(false));
+            }
+        }
+    }
+
+    private static List<Chore> parseChunk(FileChannel channel, ObjectReader reader, long from, long to) {
+        try {
+            ByteBuffer chunk = ByteBuffer.allocate(Math.toIntExact(to - from));
+            while (chunk.hasRemaining()) {
+                if (channel.read(chunk, from + chunk.position()) < 0) {
+                    throw new IOException("The file ended before the chunk");
+                }
+            }
+            try (MappingIterator<Chore> chores = reader.readValues(chunk.array(), 0, chunk.limit())) {
+                return chores.readAll(new ArrayList<>());
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    // The position right after the first line break at or after position, or size if there is none.
+    // JSON escapes line breaks inside strings, so a line break always ends a chore.
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static boolean isGzip(byte[] head) {
+        return Objects.nonNull(head) && head.length >= 2
+                && (head[0] & 0xFF) == (GZIPInputStream.GZIP_MAGIC & 0xFF)
+                && (head[1] & 0xFF) == (GZIPInputStream.GZIP_MAGIC >>> 8);
+    }
+
+    private static boolean startsWith(byte[] head, byte[] prefix) {
+        return Objects.nonNull(head) && head.length >= prefix.length && Arrays.equals(head, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private void write(File target, List<Chore> chores) throws IOException {
+        if (format == FileFormat.JSON && !compressed) {
+            mapper.writeValue(target, chores);
+            return;
+        }
+        try (OutputStream output = create(target)) {
+            if (format == FileFormat.SMILE) {
+                SMILE_WRITER.writeValue(output, chores);
+            } else if (format == FileFormat.NDJSON) {
+                writeLines(output, chores);
+            } else {
+                mapper.writeValue(output, chores);
+            }
+        }
+    }
+
+    private ObjectReader choreReader() {
+        if (Objects.isNull(choreReader)) {
+            choreReader = mapper.readerFor(Chore.class);
+        }
+        return choreReader;
+    }
+
+    // Not flushed after each chore, as the generator is flushed once when it closes
+    private ObjectWriter lineWriter() {
+        if (Objects.isNull(lineWriter)) {
+            lineWriter = mapper.writerFor(Chore.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+        return lineWriter;
+    }
+
+    private void writeLines(OutputStream output, List<Chore> chores) throws IOException {
+        ObjectWriter writer = lineWriter();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(output)) {
+            // Without the space Jackson puts between root-level values
+            generator.setRootValueSeparator(null);
+            for (Chore chore : chores) {
+                writer.writeValue(generator, chore);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    static void replace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        // The rename itself only survives a crash once the directory is on disk too. Directories
+        // can't be opened on every platform, in which case the rename is as durable as it gets.
+        try (FileChannel directory = FileChannel.open(target.getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException exception) {
+            // Best effort
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (Objects.isNull(path)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException exception) {
+            // Left behind: it's never read, and the next snapshot gets a new name
+        }
+    }
+
+    // Compression favours speed over ratio: chores still shrink several times, and saveAll rewrites the whole file
+    private OutputStream create(File target) throws IOException {
+        OutputStream output = new FileOutputStream(target);
+        if (compressed) {
+            output = new GZIPOutputStream(output, BUFFER_SIZE) {
+                {
+                    def.setLevel(Deflater.BEST_SPEED);
+                }
+            };
+        }
+        return new BufferedOutputStream(output, BUFFER_SIZE);
     }
 }
@@ -0,0 +1,365 @@
+package br.edu.unifal.repository.impl;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.metrics.MetricsRegistry;
+import br.edu.unifal.repository.ChoreRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * File repository that appends every single-chore change to a journal (one JSON record per line)
+ * instead of rewriting chores.json. Loading replays the journal on top of the snapshot, and a
+ * background compactor folds the journal into a fresh snapshot once it grows past a threshold.
+ */
+public class JournaledFileChoreRepository implements ChoreRepository, AutoCloseable {
+
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 10_000;
+
+    public static final String DEFAULT_JOURNAL_PATH = "chores.journal";
+
+    private static final String JOURNAL_EXTENSION = ".journal";
+
+    enum Operation { ADD, UPDATE, DELETE }
+
+    record JournalEntry(Operation operation, Chore chore) { }
+
+    private final FileChoreRepository snapshot;
+    private final File snapshotFile;
+    private final ObjectMapper mapper;
+    private final File journal;
+    private final File compacting;
+    private final int compactionThreshold;
+
+    // Guards the journal writer, the id sequence and the journal rotation
+    private final Object journalLock = new Object();
+
+    // Writers of the snapshot (compaction and saveAll) exclude readers of snapshot + journals
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+
+    private final ScheduledExecutorService compactor;
+    private final MetricsRegistry metrics = MetricsRegistry.global();
+
+    private Writer journalWriter;
+    private int journalEntries;
+    private Long nextId;
+
+    /**
+     * @param snapshotPath The snapshot file the journal is folded into
+     * @param journalPath The journal file
+     * @param compactionThreshold The number of journal records that triggers a compaction
+     * @param compactionIntervalSeconds How often the compactor checks the journal
+     */
+    public JournaledFileChoreRepository(String snapshotPath, String journalPath, int compactionThreshold, long compactionIntervalSeconds) {
+        this.snapshot = FileChoreRepository.of(snapshotPath);
+        this.snapshotFile = new File(snapshotPath);
+        this.mapper = new ObjectMapper().findAndRegisterModules();
+        this.journal = new File(journalPath);
+        this.compacting = new File(journalPath + ".compacting");
+        this.compactionThreshold = compactionThreshold;
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chore-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(this::compactIfNeeded,
+                compactionIntervalSeconds, compactionIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The snapshot is kept next to the journal, with the same name and a .json extension
+     * (chores.journal is folded into chores.json), so each journal has a snapshot of its own
+     */
+    public JournaledFileChoreRepository(String journalPath, int compactionThreshold, long compactionIntervalSeconds) {
+        this(snapshotPathOf(journalPath), journalPath, compactionThreshold, compactionIntervalSeconds);
+    }
+
+    public JournaledFileChoreRepository() {
+        this(DEFAULT_JOURNAL_PATH, DEFAULT_COMPACTION_THRESHOLD, 60);
+    }
+
+    /**
+     * @return List<Chore> The chores of the snapshot and the journals or null, if the snapshot can't be read
+     */
+    @Override
+    public List<Chore> load() {
+        snapshotLock.readLock().lock();
+        try {
+            synchronized (journalLock) {
+                flushJournal();
+                Map<Long, Chore> chores = replay(true);
+                if (Objects.isNull(chores)) {
+                    return null;
+                }
+                nextId = chores.keySet().stream().mapToLong(Long::longValue).max().orElse(0L) + 1;
+                return new ArrayList<>(chores.values());
+            }
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean saveAll(List<Chore> chores) {
+        if (!initializeIds()) {
+            return false;
+        }
+        snapshotLock.writeLock().lock();
+        try {
+            synchronized (journalLock) {
+                for (Chore chore : chores) {
+                    if (Objects.isNull(chore.getId())) {
+                        chore.setId(nextId++);
+                    }
+                }
+                if (!snapshot.saveSnapshot(chores)) {
+                    return false;
+                }
+                // The snapshot now holds everything, so the journals can go
+                closeJournal();
+                compacting.delete();
+                journal.delete();
+                journalEntries = 0;
+                return true;
+            }
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean save(Chore chore) {
+        if (!initializeIds()) {
+            return false;
+        }
+        synchronized (journalLock) {
+            if (Objects.isNull(chore.getId())) {
+                chore.setId(nextId++);
+            } else {
+                nextId = Math.max(nextId, chore.getId() + 1);
+            }
+            return append(Operation.ADD, chore);
+        }
+    }
+
+    @Override
+    public boolean update(Chore chore) {
+        if (Objects.isNull(chore.getId())) {
+            return false;
+        }
+        synchronized (journalLock) {
+            return append(Operation.UPDATE, chore);
+        }
+    }
+
+    @Override
+    public boolean delete(Chore chore) {
+        if (Objects.isNull(chore.getId())) {
+            return false;
+        }
+        synchronized (journalLock) {
+            return append(Operation.DELETE, Chore.builder().id(chore.getId()).build());
+        }
+    }
+
+    /**
+     * Method to fold the journal into a fresh snapshot.
+     * Appends keep going to a new journal while the snapshot is written.
+     */
+    public void compact() {
+        synchronized (journalLock) {
+            // A leftover .compacting file means a previous compaction didn't finish, so it's folded first
+            if (!compacting.exists()) {
+                closeJournal();
+                if (journal.exists() && !journal.renameTo(compacting)) {
+                    System.out.println("ERROR: Unable to rotate the journal.");
+                    return;
+                }
+                journalEntries = 0;
+            }
+        }
+        snapshotLock.writeLock().lock();
+        try {
+            Map<Long, Chore> chores = replay(false);
+            // Writing over a snapshot that couldn't be read would lose its chores, so the
+            // .compacting journal is kept until it can
+            if (Objects.isNull(chores)) {
+                System.out.println("ERROR: Unable to compact the journal, the snapshot can't be read.");
+                return;
+            }
+            if (snapshot.saveSnapshot(new ArrayList<>(chores.values()))) {
+                compacting.delete();
+            }
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdownNow();
+        synchronized (journalLock) {
+            closeJournal();
+        }
+    }
+
+    private void compactIfNeeded() {
+        boolean needed;
+        synchronized (journalLock) {
+            needed = journalEntries >= compactionThreshold || compacting.exists();
+        }
+        if (needed) {
+            compact();
+        }
+    }
+
+    private boolean append(Operation operation, Chore chore) {
+        try {
+            if (Objects.isNull(journalWriter)) {
+                journalWriter = new BufferedWriter(new FileWriter(journal, StandardCharsets.UTF_8, true));
+            }
+            long start = System.nanoTime();
+            String line = mapper.writeValueAsString(new JournalEntry(operation, chore));
+            metrics.recordSince("journal.serialize", start);
+            journalWriter.write(line);
+            journalWriter.write('\n');
+            journalWriter.flush();
+            metrics.recordSince("journal.append", start);
+            metrics.add("journal.bytes.written", line.getBytes(StandardCharsets.UTF_8).length + 1);
+        } catch (IOException exception) {
+            System.out.println("ERROR: Unable to write the chore on the journal.");
+            return false;
+        }
+        if (++journalEntries == compactionThreshold) {
+            compactor.execute(this::compactIfNeeded);
+        }
+        return true;
+    }
+
+    /**
+     * Rebuilds the chores from the snapshot plus the journals. A missing snapshot counts as empty.
+     * @param includeJournal Whether the live journal is replayed too, besides the one being compacted
+     * @return The chores by id or null, if the snapshot exists but can't be read
+     */
+    private Map<Long, Chore> replay(boolean includeJournal) {
+        List<Chore> snapshotChores = new ArrayList<>();
+        if (!snapshot.loadEach(snapshotChores::add) && snapshotFile.exists()) {
+            return null;
+        }
+
+        // Chores written by the plain file repository have no id, they get one after the highest id
+        long maxId = snapshotChores.stream()
+                .map(Chore::getId)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .max().orElse(0L);
+        Map<Long, Chore> chores = new LinkedHashMap<>();
+        for (Chore chore : snapshotChores) {
+            if (Objects.isNull(chore.getId())) {
+                chore.setId(++maxId);
+            }
+            chores.put(chore.getId(), chore);
+        }
+        replayJournal(compacting, chores);
+        if (includeJournal) {
+            replayJournal(journal, chores);
+        }
+        return chores;
+    }
+
+    private void replayJournal(File file, Map<Long, Chore> chores) {
+        if (!file.exists()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JournalEntry entry;
+                try {
+                    entry = mapper.readValue(line, JournalEntry.class);
+                } catch (IOException exception) {
+                    // A torn last record left by a crash is skipped
+                    System.out.println("Unable to convert a journal record into a Chore!");
+                    continue;
+                }
+                if (entry.operation() == Operation.DELETE) {
+                    chores.remove(entry.chore().getId());
+                } else {
+                    chores.put(entry.chore().getId(), entry.chore());
+                }
+            }
+        } catch (IOException exception) {
+            System.out.println("ERROR: Unable to open the journal.");
+        }
+    }
+
+    // Takes the locks in the same order as load and saveAll: snapshot first, then journal.
+    // Returns false if the ids can't be known because the snapshot can't be read
+    private boolean initializeIds() {
+        snapshotLock.readLock().lock();
+        try {
+            synchronized (journalLock) {
+                if (Objects.isNull(nextId)) {
+                    flushJournal();
+                    Map<Long, Chore> chores = replay(true);
+                    if (Objects.isNull(chores)) {
+                        return false;
+                    }
+                    nextId = chores.keySet().stream().mapToLong(Long::longValue).max().orElse(0L) + 1;
+                }
+                return true;
+            }
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    private static String snapshotPathOf(String journalPath) {
+        String basePath = journalPath.endsWith(JOURNAL_EXTENSION)
+                ? journalPath.substring(0, journalPath.length() - JOURNAL_EXTENSION.length())
+                : journalPath;
+        return basePath + ".json";
+    }
+
+    private void flushJournal() {
+        try {
+            if (Objects.nonNull(journalWriter)) {
+                journalWriter.flush();
+            }
+        } catch (IOException exception) {
+            System.out.println("ERROR: Unable to write the chore on the journal.");
+        }
+    }
+
+    private void closeJournal() {
+        try {
+            if (Objects.nonNull(journalWriter)) {
+                journalWriter.close();
+            }
+        } catch (IOException exception) {
+            System.out.println("ERROR: Unable to close the journal.");
+        } finally {
+            journalWriter = null;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package br.edu.unifal.repository.impl;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.repository.ChoreRepository;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Binary repository backed by two memory-mapped files:
+ * <ul>
+ *     <li>chores.bin: a header plus one fixed-width record per chore
+ *     (id, deadline as epoch day, flags and where the description is in the heap)</li>
+ *     <li>chores.bin.heap: the UTF-8 descriptions, one after the other. Each saveAll writes a new
+ *     heap (chores.bin.heap.1, chores.bin.heap.2, ...), and the header says which one is current.</li>
+ * </ul>
+ * Saves, updates and deletes touch a single record in place instead of rewriting the whole store.
+ * Nothing is reclaimed in place: an edited description is appended to the heap and a deleted
+ * chore keeps its record, so the files only grow until the next saveAll, which writes just the
+ * chores given to it.
+ * saveAll builds the new store beside the current one and renames it in, so a crash midway keeps
+ * the previous save.
+ */
+public class MappedFileChoreRepository implements ChoreRepository, AutoCloseable {
+
+    private static final int MAGIC = 0x43484F52; // "CHOR"
+    private static final int VERSION = 1;
+
+    // Header: magic (int), version (int), record count (int), next id (long), heap size (long), heap generation (int)
+    private static final int HEADER_SIZE = 32;
+    private static final int COUNT_OFFSET = 8;
+    private static final int NEXT_ID_OFFSET = 12;
+    private static final int HEAP_SIZE_OFFSET = 20;
+    private static final int GENERATION_OFFSET = 28;
+
+    // Record: id (long), deadline (int), flags (byte), description offset (long), description length (int)
+    private static final int RECORD_SIZE = 32;
+    private static final int DEADLINE_OFFSET = 8;
+    private static final int FLAGS_OFFSET = 12;
+    private static final int DESCRIPTION_OFFSET = 16;
+    private static final int DESCRIPTION_LENGTH_OFFSET = 24;
+
+    private static final byte COMPLETED = 1;
+    private static final byte DELETED = 1 << 1;
+
+    private static final int NO_DEADLINE = Integer.MIN_VALUE;
+    private static final int NO_DESCRIPTION = -1;
+
+    private static final int INITIAL_RECORDS = 1024;
+    private static final int INITIAL_HEAP = 64 * 1024;
+
+    private final String path;
+
+    private RandomAccessFile recordsFile;
+    private RandomAccessFile heapFile;
+    private MappedByteBuffer records;
+    private MappedByteBuffer heap;
+
+    // Record slot of each chore id
+    private final Map<Long, Integer> slots = new HashMap<>();
+
+    public MappedFileChoreRepository(String path) {
+        this.path = path;
+    }
+
+    public MappedFileChoreRepository() {
+        this("chores.bin");
+    }
+
+    @Override
+    public synchronized List<Chore> load() {
+        List<Chore> chores = new ArrayList<>();
+        if (!loadEach(chores::add)) {
+            return new ArrayList<>();
+        }
+        return chores;
+    }
+
+    @Override
+    public synchronized boolean loadEach(Consumer<Chore> consumer) {
+        if (!open()) {
+            return false;
+        }
+        int count = records.getInt(COUNT_OFFSET);
+        for (int slot = 0; slot < count; slot++) {
+            int position = recordPosition(slot);
+            if ((records.get(position + FLAGS_OFFSET) & DELETED) == 0) {
+                consumer.accept(readChore(position));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method to replace every chore, compacting the store: the chores are written to a new records
+     * file and a new heap, which are flushed and then renamed over the current ones
+     * @param chores The chores to be saved. The ones without an id get one after the save.
+     * @return TRUE, if the chores were saved and <br/>
+     *         FALSE, if the save fails (the previous chores are kept)
+     */
+    @Override
+    public synchronized boolean saveAll(List<Chore> chores) {
+        if (!open()) {
+            return false;
+        }
+        long nextId = Math.max(1L, records.getLong(NEXT_ID_OFFSET));
+        for (Chore chore : chores) {
+            if (Objects.nonNull(chore.getId())) {
+                nextId = Math.max(nextId, chore.getId() + 1);
+            }
+        }
+        // Set on the chores only once the save is done
+        long[] ids = new long[chores.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Long id = chores.get(i).getId();
+            ids[i] = Objects.nonNull(id) ? id : nextId++;
+        }
+        int generation = records.getInt(GENERATION_OFFSET);
+        File staged = new File(path + ".tmp");
+        File stagedHeap = new File(heapPath(generation + 1));
+        close();
+
+        boolean written = false;
+        try {
+            create(staged, stagedHeap, generation + 1, chores.size());
+            for (int i = 0; i < ids.length; i++) {
+                append(chores.get(i), ids[i]);
+            }
+            records.putLong(NEXT_ID_OFFSET, nextId);
+            records.force();
+            heap.force();
+            written = true;
+        } catch (IOException exception) {
+            System.out.println("ERROR: Unable to write the chores on the file.");
+        } finally {
+            close();
+        }
+        try {
+            if (written) {
+                FileChoreRepository.replace(staged.toPath(), new File(path).getAbsoluteFile().toPath());
+            }
+        } catch (IOException exception) {
+            System.out.println("ERROR: Unable to write the chores on the file.");
+            written = false;
+        }
+        if (!written) {
+            staged.delete();
+            stagedHeap.delete();
+            return false;
+        }
+        new File(heapPath(generation)).delete();
+        for (int i = 0; i < ids.length; i++) {
+            chores.get(i).setId(ids[i]);
+        }
+        return open();
+    }
+
+    @Override
+    public synchronized boolean save(Chore chore) {
+        if (!open()) {
+            return false;
+        }
+        try {
+            long nextId = records.getLong(NEXT_ID_OFFSET);
+            if (Objects.isNull(chore.getId())) {
+                chore.setId(nextId);
+            } else if (slots.containsKey(chore.getId())) {
+                return false;
+            }
+            records.putLong(NEXT_ID_OFFSET, Math.max(nextId, chore.getId() + 1));
+            append(chore, chore.getId());
+            return true;
+        } catch (IOException exception) {
+            System.out.println("ERROR: Unable to write the chore on the file.");
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized boolean update(Chore chore) {
+        if (Objects.isNull(chore.getId()) || !open() || !slots.containsKey(chore.getId())) {
+            return false;
+        }
+        try {
+            int position = recordPosition(slots.get(chore.getId()));
+            if (!Objects.equals(readDescription(position), chore.getDescription())) {
+                writeDescription(position, chore.getDescription());
+            }
+            records.putInt(position + DEADLINE_OFFSET, toEpochDay(chore.getDeadline()));
+            records.put(position + FLAGS_OFFSET, Boolean.TRUE.equals(chore.getIsCompleted()) ? COMPLETED : 0);
+            return true;
+        } catch (IOException exception) {
+            System.out.println("ERROR: Unable to write the chore on the file.");
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized boolean delete(Chore chore) {
+        if (Objects.isNull(chore.getId()) || !open()) {
+            return false;
+        }
+        Integer slot = slots.remove(chore.getId());
+        if (Objects.isNull(slot)) {
+            return false;
+        }
+        int position = recordPosition(slot);
+        records.put(position + FLAGS_OFFSET, (byte) (records.get(position + FLAGS_OFFSET) | DELETED));
+        return true;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (Objects.nonNull(records)) {
+                records.force();
+                heap.force();
+            }
+            if (Objects.nonNull(recordsFile)) {
+                recordsFile.close();
+            }
+            if (Objects.nonNull(heapFile)) {
+                heapFile.close();
+            }
+        } catch (IOException exception) {
+            System.out.println("ERROR: Unable to close the file.");
+        } finally {
+            records = null;
+            heap = null;
+            recordsFile = null;
+            heapFile = null;
+        }
+    }
+
+    private boolean open() {
+        if (Objects.nonNull(records)) {
+            return true;
+        }
+        try {
+            recordsFile = new RandomAccessFile(path, "rw");
+            boolean created = recordsFile.length() == 0;
+            records = map(recordsFile, Math.max(recordsFile.length(), HEADER_SIZE + (long) INITIAL_RECORDS * RECORD_SIZE));
+            if (created) {
+                writeHeader(0);
+            } else if (records.getInt(0) != MAGIC || records.getInt(4) != VERSION) {
+                System.out.println("Unable to convert the content of the file into Chores!");
+                close();
+                return false;
+            }
+            int generation = records.getInt(GENERATION_OFFSET);
+            heapFile = new RandomAccessFile(heapPath(generation), "rw");
+            heap = map(heapFile, Math.max(heapFile.length(), INITIAL_HEAP));
+            // Left behind by a saveAll that crashed before or right after its rename
+            new File(path + ".tmp").delete();
+            new File(heapPath(generation + 1)).delete();
+            if (generation > 0) {
+                new File(heapPath(generation - 1)).delete();
+            }
+            slots.clear();
+            int count = records.getInt(COUNT_OFFSET);
+            for (int slot = 0; slot < count; slot++) {
+                int position = recordPosition(slot);
+                if ((records.get(position + FLAGS_OFFSET) & DELETED) == 0) {
+                    slots.put(records.getLong(position), slot);
+                }
+            }
+            return true;
+        } catch (IOException exception) {
+            System.out.println("ERROR: Unable to open file.");
+            close();
+        }
+        return false;
+    }
+
+    // Maps a new, empty store on the given files, sized for the given number of chores
+    private void create(File recordsPath, File heapPath, int generation, int capacity) throws IOException {
+        recordsPath.delete();
+        heapPath.delete();
+        recordsFile = new RandomAccessFile(recordsPath, "rw");
+        heapFile = new RandomAccessFile(heapPath, "rw");
+        records = map(recordsFile, HEADER_SIZE + (long) Math.max(capacity, INITIAL_RECORDS) * RECORD_SIZE);
+        heap = map(heapFile, INITIAL_HEAP);
+        writeHeader(generation);
+    }
+
+    private void writeHeader(int generation) {
+        records.putInt(0, MAGIC);
+        records.putInt(4, VERSION);
+        records.putInt(COUNT_OFFSET, 0);
+        records.putLong(NEXT_ID_OFFSET, 1L);
+        records.putLong(HEAP_SIZE_OFFSET, 0L);
+        records.putInt(GENERATION_OFFSET, generation);
+    }
+
+    // Stores written before heap generations have 0 there, which is the original heap name
+    private String heapPath(int generation) {
+        return generation == 0 ? path + ".heap" : path + ".heap." + generation;
+    }
+
+    private void append(Chore chore, long id) throws IOException {
+        int slot = records.getInt(COUNT_OFFSET);
+        long required = HEADER_SIZE + (slot + 1L) * RECORD_SIZE;
+        if (required > records.capacity()) {
+            records = map(recordsFile, Math.max(required, (long) records.capacity() * 2));
+        }
+        int position = recordPosition(slot);
+        records.putLong(position, id);
+        records.putInt(position + DEADLINE_OFFSET, toEpochDay(chore.getDeadline()));
+        records.put(position + FLAGS_OFFSET, Boolean.TRUE.equals(chore.getIsCompleted()) ? COMPLETED : 0);
+        writeDescription(position, chore.getDescription());
+        records.putInt(COUNT_OFFSET, slot + 1);
+        slots.put(id, slot);
+    }
+
+    private Chore readChore(int position) {
+        int epochDay = records.getInt(position + DEADLINE_OFFSET);
+        return Chore.builder()
+                .id(records.getLong(position))
+                .description(readDescription(position))
+                .isCompleted((records.get(position + FLAGS_OFFSET) & COMPLETED) != 0)
+                .deadline(epochDay == NO_DEADLINE ? null : LocalDate.ofEpochDay(epochDay))
+                .build();
+    }
+
+    private String readDescription(int position) {
+        int length = records.getInt(position + DESCRIPTION_LENGTH_OFFSET);
+        if (length == NO_DESCRIPTION) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        heap.get((int) records.getLong(position + DESCRIPTION_OFFSET), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeDescription(int position, String description) throws IOException {
+        if (Objects.isNull(description)) {
+            records.putLong(position + DESCRIPTION_OFFSET, 0L);
+            records.putInt(position + DESCRIPTION_LENGTH_OFFSET, NO_DESCRIPTION);
+            return;
+        }
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        long offset = records.getLong(HEAP_SIZE_OFFSET);
+        if (offset + bytes.length > Integer.MAX_VALUE) {
+            throw new IOException("The description heap is full");
+        }
+        if (offset + bytes.length > heap.capacity()) {
+            heap = map(heapFile, Math.max(offset + bytes.length, (long) heap.capacity() * 2));
+        }
+        heap.put((int) offset, bytes);
+        records.putLong(position + DESCRIPTION_OFFSET, offset);
+        records.putInt(position + DESCRIPTION_LENGTH_OFFSET, bytes.length);
+        records.putLong(HEAP_SIZE_OFFSET, offset + bytes.length);
+    }
+
+    private static MappedByteBuffer map(RandomAccessFile file, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("The file is too large to be mapped");
+        }
+        return file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private static int recordPosition(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    private static int toEpochDay(LocalDate deadline) {
+        return Objects.isNull(deadline) ? NO_DEADLINE : Math.toIntExact(deadline.toEpochDay());
+    }
+}
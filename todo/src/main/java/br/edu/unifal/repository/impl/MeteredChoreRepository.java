@@ -0,0 +1,242 @@
+package br.edu.unifal.repository.impl;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.domain.ChoreChanges;
+import br.edu.unifal.enumerator.ChoreFilter;
+import br.edu.unifal.metrics.MetricsRegistry;
+import br.edu.unifal.repository.ChoreRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Decorator that records, for every method of the wrapped repository, a latency timer
+ * ("repository.load"), a failure counter ("repository.load.failures") and the rows read and written
+ * ("repository.rows.read", "repository.rows.written")
+ */
+public class MeteredChoreRepository implements ChoreRepository {
+
+    private final ChoreRepository repository;
+
+    private final MetricsRegistry metrics;
+
+    private final String prefix;
+
+    public MeteredChoreRepository(ChoreRepository repository, MetricsRegistry metrics, String prefix) {
+        this.repository = repository;
+        this.metrics = metrics;
+        this.prefix = prefix;
+    }
+
+    public MeteredChoreRepository(ChoreRepository repository) {
+        this(repository, MetricsRegistry.global(), "repository");
+    }
+
+    @Override
+    public List<Chore> load() {
+        long start = System.nanoTime();
+        try {
+            return rowsRead("load", repository.load());
+        } finally {
+            metrics.recordSince(prefix + ".load", start);
+        }
+    }
+
+    @Override
+    public boolean loadEach(Consumer<Chore> consumer) {
+        LongAdder rows = new LongAdder();
+        long start = System.nanoTime();
+        try {
+            return succeeded("loadEach", repository.loadEach(chore -> {
+                rows.increment();
+                consumer.accept(chore);
+            }));
+        } finally {
+            metrics.recordSince(prefix + ".loadEach", start);
+            metrics.add(prefix + ".rows.read", rows.sum());
+        }
+    }
+
+    @Override
+    public List<Chore> loadFiltered(ChoreFilter filter) {
+        long start = System.nanoTime();
+        try {
+            return rowsRead("loadFiltered", repository.loadFiltered(filter));
+        } finally {
+            metrics.recordSince(prefix + ".loadFiltered", start);
+        }
+    }
+
+    @Override
+    public Chore findById(Long id) {
+        long start = System.nanoTime();
+        try {
+            Chore chore = repository.findById(id);
+            if (Objects.nonNull(chore)) {
+                metrics.increment(prefix + ".rows.read");
+            }
+            return chore;
+        } finally {
+            metrics.recordSince(prefix + ".findById", start);
+        }
+    }
+
+    @Override
+    public List<Chore> loadPage(Long afterId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return rowsRead("loadPage", repository.loadPage(afterId, limit));
+        } finally {
+            metrics.recordSince(prefix + ".loadPage", start);
+        }
+    }
+
+    @Override
+    public List<Chore> loadDueBetween(LocalDate from, LocalDate to) {
+        long start = System.nanoTime();
+        try {
+            return rowsRead("loadDueBetween", repository.loadDueBetween(from, to));
+        } finally {
+            metrics.recordSince(prefix + ".loadDueBetween", start);
+        }
+    }
+
+    @Override
+    public ChoreChanges loadChangedSince(LocalDateTime marker) {
+        long start = System.nanoTime();
+        try {
+            ChoreChanges changes = repository.loadChangedSince(marker);
+            if (Objects.isNull(changes)) {
+                metrics.increment(prefix + ".loadChangedSince.failures");
+            } else {
+                metrics.add(prefix + ".rows.read", changes.changed().size() + changes.deletedIds().size());
+            }
+            return changes;
+        } finally {
+            metrics.recordSince(prefix + ".loadChangedSince", start);
+        }
+    }
+
+    @Override
+    public boolean saveAll(List<Chore> chores) {
+        long start = System.nanoTime();
+        try {
+            boolean saved = succeeded("saveAll", repository.saveAll(chores));
+            if (saved) {
+                metrics.add(prefix + ".rows.written", chores.size());
+            }
+            return saved;
+        } finally {
+            metrics.recordSince(prefix + ".saveAll", start);
+        }
+    }
+
+    @Override
+    public boolean saveSnapshot(List<Chore> chores) {
+        long start = System.nanoTime();
+        try {
+            boolean saved = succeeded("saveSnapshot", repository.saveSnapshot(chores));
+            if (saved) {
+                metrics.add(prefix + ".rows.written", chores.size());
+            }
+            return saved;
+        } finally {
+            metrics.recordSince(prefix + ".saveSnapshot", start);
+        }
+    }
+
+    @Override
+    public boolean saveBatch(List<Chore> chores) {
+        long start = System.nanoTime();
+        try {
+            boolean saved = succeeded("saveBatch", repository.saveBatch(chores));
+            if (saved) {
+                metrics.add(prefix + ".rows.written", chores.size());
+            }
+            return saved;
+        } finally {
+            metrics.recordSince(prefix + ".saveBatch", start);
+        }
+    }
+
+    @Override
+    public boolean deleteBatch(List<Chore> chores) {
+        long start = System.nanoTime();
+        try {
+            boolean deleted = succeeded("deleteBatch", repository.deleteBatch(chores));
+            if (deleted) {
+                metrics.add(prefix + ".rows.written", chores.size());
+            }
+            return deleted;
+        } finally {
+            metrics.recordSince(prefix + ".deleteBatch", start);
+        }
+    }
+
+    @Override
+    public boolean flush() {
+        return repository.flush();
+    }
+
+    @Override
+    public void onIdAssigned(Consumer<Chore> listener) {
+        repository.onIdAssigned(listener);
+    }
+
+    @Override
+    public boolean save(Chore chore) {
+        long start = System.nanoTime();
+        try {
+            return written("save", repository.save(chore));
+        } finally {
+            metrics.recordSince(prefix + ".save", start);
+        }
+    }
+
+    @Override
+    public boolean update(Chore chore) {
+        long start = System.nanoTime();
+        try {
+            return written("update", repository.update(chore));
+        } finally {
+            metrics.recordSince(prefix + ".update", start);
+        }
+    }
+
+    @Override
+    public boolean delete(Chore chore) {
+        long start = System.nanoTime();
+        try {
+            return written("delete", repository.delete(chore));
+        } finally {
+            metrics.recordSince(prefix + ".delete", start);
+        }
+    }
+
+    private List<Chore> rowsRead(String operation, List<Chore> chores) {
+        if (Objects.isNull(chores)) {
+            metrics.increment(prefix + "." + operation + ".failures");
+        } else {
+            metrics.add(prefix + ".rows.read", chores.size());
+        }
+        return chores;
+    }
+
+    private boolean written(String operation, boolean written) {
+        if (succeeded(operation, written)) {
+            metrics.increment(prefix + ".rows.written");
+        }
+        return written;
+    }
+
+    private boolean succeeded(String operation, boolean succeeded) {
+        if (!succeeded) {
+            metrics.increment(prefix + "." + operation + ".failures");
+        }
+        return succeeded;
+    }
+}
@@ -1,160 +1,448 @@
 package br.edu.unifal.repository.impl;
 
 import br.edu.unifal.domain.Chore;
+import br.edu.unifal.domain.ChoreChanges;
+import br.edu.unifal.enumerator.ChoreFilter;
+import br.edu.unifal.metrics.MetricsRegistry;
 import br.edu.unifal.repository.ChoreRepository;
 import br.edu.unifal.repository.book.ChoreBook;
+import br.edu.unifal.repository.pool.ConnectionPool;
+import br.edu.unifal.repository.pool.PooledConnection;
 
 import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 public class MySQLChoreRepository implements ChoreRepository {
 
-    // Estabelecer uma conexão com o banco de dados
-    private Connection connection;
+    public static final int DEFAULT_BATCH_SIZE = 1000;
 
-    // Realizar operações no banco de dados
-    // Executam em tempo de COMPILAÇÃO (consulta estática)
-    // Quando a consulta é executada uma única vez
-    private Statement statement;
+    public static final int DEFAULT_FETCH_SIZE = 1000;
 
-    // Realizar operações no banco de dados
-    // Executar queries dinâmicas em tempo de EXECUÇÃO
-    // Ideal para quando vamos executar a query múltiplas vezes
-    // Melhor performance quando comparado ao statement
-    private PreparedStatement preparedStatement;
+    // A transaction may commit a row stamped a little before the marker, so each sync
+    // re-reads this much before the last one. Reading a change twice is harmless.
+    private static final Duration CHANGE_TRACKING_OVERLAP = Duration.ofSeconds(5);
 
-    // Utilizado para capturar o retorno de uma consulta
-    // e.g.: Utilizei o statement para fazer uma consulta de todas as chores
-    //       Eu uso o result set para capturar o resultado dessa consulta
-    private ResultSet resultSet;
+    // Conexões com o banco de dados ficam abertas no pool e são reaproveitadas
+    // entre as operações, evitando abrir uma conexão nova a cada consulta
+    private final ConnectionPool pool;
+
+    // Maximum number of chores sent in a single batch (and committed in a single transaction) by saveAll
+    private final int batchSize;
+
+    // Rows fetched from the server cursor per round trip when loading
+    private final int fetchSize;
+
+    // Query and batch latencies, rows read and rows written ("mysql.*")
+    private final MetricsRegistry metrics = MetricsRegistry.global();
+
+    public MySQLChoreRepository(ConnectionPool pool, int batchSize, int fetchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be greater than zero");
+        }
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("The fetch size must be greater than zero");
+        }
+        this.pool = pool;
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+    }
+
+    public MySQLChoreRepository(ConnectionPool pool, int batchSize) {
+        this(pool, batchSize, DEFAULT_FETCH_SIZE);
+    }
+
+    public MySQLChoreRepository(ConnectionPool pool) {
+        this(pool, DEFAULT_BATCH_SIZE);
+    }
+
+    public MySQLChoreRepository() {
+        this(new ConnectionPool());
+    }
 
     @Override
     public List<Chore> load() {
-        if(!connectToMySQL()){
-            return new ArrayList<>();
+        List<Chore> chores = new ArrayList<>();
+        if (!loadEach(chores::add)) {
+            return null;
+        }
+        return chores;
+    }
+
+    /**
+     * Streams the rows through a server-side cursor, fetchSize rows at a time,
+     * instead of buffering the whole result set before the first chore is built
+     */
+    @Override
+    public boolean loadEach(Consumer<Chore> consumer) {
+        try (PooledConnection connection = pool.acquire()) {
+            PreparedStatement preparedStatement = connection.prepareStatement(ChoreBook.FIND_ALL_CHORES);
+            preparedStatement.setFetchSize(fetchSize);
+            query(preparedStatement, consumer);
+            return true;
+        } catch (SQLException exception) {
+            System.err.println("Error when loading chores from database: " + exception.getMessage());
+            exception.printStackTrace();
         }
-        try {
-            statement = connection.createStatement();
-            resultSet = statement.executeQuery(ChoreBook.FIND_ALL_CHORES); // pegando o resultado dessa query para resultSet
+        return false;
+    }
 
+    /**
+     * Filters on the database (WHERE isCompleted = ?), so only the matching rows are sent
+     */
+    @Override
+    public List<Chore> loadFiltered(ChoreFilter filter) {
+        if (filter == ChoreFilter.ALL) {
+            return load();
+        }
+        try (PooledConnection connection = pool.acquire()) {
+            PreparedStatement preparedStatement = connection.prepareStatement(ChoreBook.FIND_CHORES_BY_STATUS);
+            preparedStatement.setFetchSize(fetchSize);
+            preparedStatement.setBoolean(1, filter == ChoreFilter.COMPLETED);
             List<Chore> chores = new ArrayList<>();
-            while(resultSet.next()) {
-                // Poderíamos ter criado a Chore usando o construtor completo
-                // OU poderíamos ter usado o construtor padrão + ter dado sets
-                Chore chore = Chore.builder()
-                        .id(resultSet.getLong("id"))
-                        .description(resultSet.getString("description"))
-                        .isCompleted(resultSet.getBoolean("isCompleted"))
-                        .deadline(resultSet.getDate("deadline").toLocalDate())
-                        .build();
-                chores.add(chore);
-            }
+            query(preparedStatement, chores::add);
+            return chores;
+        } catch (SQLException exception) {
+            System.err.println("Error when loading chores from database: " + exception.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public Chore findById(Long id) {
+        if (Objects.isNull(id)) {
+            return null;
+        }
+        try (PooledConnection connection = pool.acquire()) {
+            PreparedStatement preparedStatement = connection.prepareStatement(ChoreBook.FIND_CHORE_BY_ID);
+            preparedStatement.setLong(1, id);
+            List<Chore> chores = new ArrayList<>(1);
+            query(preparedStatement, chores::add);
+            return chores.isEmpty() ? null : chores.get(0);
+        } catch (SQLException exception) {
+            System.err.println("Error when loading the chore from database: " + exception.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Method to load the chores page by page, ordered by id.
+     * Each page is found through the primary key, so its cost doesn't grow with how deep the page is.
+     * @param afterId The id of the last chore of the previous page, or null for the first page
+     * @param limit The maximum number of chores in the page
+     * @return List<Chore> The chores with id greater than afterId or null, if the load fails
+     */
+    @Override
+    public List<Chore> loadPage(Long afterId, int limit) {
+        try (PooledConnection connection = pool.acquire()) {
+            PreparedStatement preparedStatement = connection.prepareStatement(ChoreBook.FIND_CHORES_PAGE);
+            preparedStatement.setLong(1, Objects.isNull(afterId) ? 0L : afterId);
+            preparedStatement.setInt(2, limit);
+            List<Chore> chores = new ArrayList<>();
+            query(preparedStatement, chores::add);
             return chores;
         } catch (SQLException exception) {
             System.err.println("Error when loading chores from database: " + exception.getMessage());
-            exception.printStackTrace();
         }
-        finally {
-            closeConnections();
+        return null;
+    }
+
+    @Override
+    public List<Chore> loadDueBetween(LocalDate from, LocalDate to) {
+        try (PooledConnection connection = pool.acquire()) {
+            PreparedStatement preparedStatement = connection.prepareStatement(ChoreBook.FIND_CHORES_DUE_BETWEEN);
+            preparedStatement.setDate(1, Date.valueOf(from));
+            preparedStatement.setDate(2, Date.valueOf(to));
+            preparedStatement.setFetchSize(fetchSize);
+            List<Chore> chores = new ArrayList<>();
+            query(preparedStatement, chores::add);
+            return chores;
+        } catch (SQLException exception) {
+            System.err.println("Error when loading chores from database: " + exception.getMessage());
         }
         return null;
     }
 
+    /**
+     * Method to persist the chores in batches. Chores without an id are inserted (and get the
+     * generated id once their chunk is committed), the others are updated. Each chunk of batchSize
+     * chores is committed on its own transaction, so on failure the chunks already committed are kept.
+     * @param chores The chores to be saved
+     * @return TRUE, if every chunk was saved and <br/>
+     *         FALSE, if a chunk fails or updates a chore that isn't on the database
+     */
     @Override
     public boolean saveAll(List<Chore> chores) {
+        if (Objects.isNull(chores)) {
+            return false;
+        }
+        try (PooledConnection connection = pool.acquire()) {
+            Connection jdbcConnection = connection.getConnection();
+            jdbcConnection.setAutoCommit(false);
+            try {
+                for (int from = 0; from < chores.size(); from += batchSize) {
+                    List<Chore> chunk = chores.subList(from, Math.min(from + batchSize, chores.size()));
+                    long[] generatedIds = saveChunk(connection, chunk);
+                    jdbcConnection.commit();
+                    // Only now the rows exist, so a chunk rolled back leaves its chores without an id
+                    for (int i = 0; i < chunk.size(); i++) {
+                        if (generatedIds[i] != 0) {
+                            chunk.get(i).setId(generatedIds[i]);
+                        }
+                    }
+                }
+            } catch (SQLException exception) {
+                jdbcConnection.rollback();
+                throw exception;
+            } finally {
+                jdbcConnection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException exception) {
+            System.out.println("Error when saving the chores on database: " + exception.getMessage());
+        }
         return false;
     }
 
+    /**
+     * Needs the updated_at column and the deleted_chores tombstones of resources/db/change-tracking.sql.
+     * The marker is the database clock, so the application clock doesn't matter.
+     */
     @Override
-    public boolean save(Chore chore) {
-        if(!connectToMySQL()){
-            return Boolean.FALSE;
+    public ChoreChanges loadChangedSince(LocalDateTime marker) {
+        try (PooledConnection connection = pool.acquire()) {
+            LocalDateTime nextMarker;
+            try (ResultSet resultSet = connection.prepareStatement(ChoreBook.CURRENT_TIMESTAMP).executeQuery()) {
+                resultSet.next();
+                nextMarker = resultSet.getTimestamp(1).toLocalDateTime().minus(CHANGE_TRACKING_OVERLAP);
+            }
+            List<Chore> changed = new ArrayList<>();
+            List<Long> deletedIds = new ArrayList<>();
+            if (Objects.isNull(marker)) {
+                PreparedStatement preparedStatement = connection.prepareStatement(ChoreBook.FIND_ALL_CHORES);
+                preparedStatement.setFetchSize(fetchSize);
+                query(preparedStatement, changed::add);
+            } else {
+                PreparedStatement preparedStatement = connection.prepareStatement(ChoreBook.FIND_CHORES_CHANGED_SINCE);
+                preparedStatement.setFetchSize(fetchSize);
+                preparedStatement.setTimestamp(1, Timestamp.valueOf(marker));
+                query(preparedStatement, changed::add);
+
+                PreparedStatement deletedStatement = connection.prepareStatement(ChoreBook.FIND_CHORES_DELETED_SINCE);
+                deletedStatement.setTimestamp(1, Timestamp.valueOf(marker));
+                try (ResultSet resultSet = deletedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        deletedIds.add(resultSet.getLong("id"));
+                    }
+                }
+            }
+            return new ChoreChanges(changed, deletedIds, nextMarker);
+        } catch (SQLException exception) {
+            System.err.println("Error when loading the changed chores from database: " + exception.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * saveAll already inserts the chores without an id and updates the others, batch by batch
+     */
+    @Override
+    public boolean saveBatch(List<Chore> chores) {
+        return saveAll(chores);
+    }
+
+    @Override
+    public boolean deleteBatch(List<Chore> chores) {
+        try (PooledConnection connection = pool.acquire()) {
+            PreparedStatement preparedStatement = connection.prepareStatement(ChoreBook.DELETE_CHORE);
+            int rows = 0;
+            for (Chore chore : chores) {
+                if (Objects.nonNull(chore.getId())) {
+                    preparedStatement.setLong(1, chore.getId());
+                    preparedStatement.addBatch();
+                    rows++;
+                }
+            }
+            if (rows > 0) {
+                executeBatch(preparedStatement, rows);
+            }
+            return rows == chores.size();
+        } catch (SQLException exception) {
+            System.out.println("Error when deleting the chores on database: " + exception.getMessage());
+        }
+        return false;
+    }
+
+    // Runs the query and reads every row; "mysql.query" covers the whole read, cursor fetches included
+    private void query(PreparedStatement preparedStatement, Consumer<Chore> consumer) throws SQLException {
+        long start = System.nanoTime();
+        long rows = 0;
+        // ResultSet: utilizado para capturar o retorno de uma consulta
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            while(resultSet.next()) {
+                consumer.accept(toChore(resultSet));
+                rows++;
+            }
+        }
+        metrics.recordSince("mysql.query", start);
+        metrics.add("mysql.rows.read", rows);
+    }
+
+    private int execute(PreparedStatement preparedStatement) throws SQLException {
+        long start = System.nanoTime();
+        int affectedRows = preparedStatement.executeUpdate();
+        metrics.recordSince("mysql.update", start);
+        metrics.add("mysql.rows.written", affectedRows);
+        return affectedRows;
+    }
+
+    private int[] executeBatch(PreparedStatement preparedStatement, int rows) throws SQLException {
+        long start = System.nanoTime();
+        int[] affectedRows = preparedStatement.executeBatch();
+        metrics.recordSince("mysql.batch", start);
+        metrics.add("mysql.rows.written", rows);
+        return affectedRows;
+    }
+
+    // Chores without a status are saved as uncompleted
+    private static boolean isCompleted(Chore chore) {
+        return Boolean.TRUE.equals(chore.getIsCompleted());
+    }
+
+    private Chore toChore(ResultSet resultSet) throws SQLException {
+        // Poderíamos ter criado a Chore usando o construtor completo
+        // OU poderíamos ter usado o construtor padrão + ter dado sets
+        return Chore.builder()
+                .id(resultSet.getLong("id"))
+                .description(resultSet.getString("description"))
+                .isCompleted(resultSet.getBoolean("isCompleted"))
+                .deadline(resultSet.getDate("deadline").toLocalDate())
+                .build();
+    }
+
+    // Returns the id generated for each inserted chore of the chunk (0 for the updated ones),
+    // to be set on the chores only after the commit
+    private long[] saveChunk(PooledConnection connection, List<Chore> chunk) throws SQLException {
+        long[] generatedIds = new long[chunk.size()];
+        List<Integer> inserted = new ArrayList<>();
+        PreparedStatement insertStatement = connection.prepareStatement(
+                ChoreBook.INSERT_CHORE, Statement.RETURN_GENERATED_KEYS);
+        PreparedStatement updateStatement = connection.prepareStatement(
+                ChoreBook.UPDATE_CHORE_WITH_STATUS);
+        for (int i = 0; i < chunk.size(); i++) {
+            Chore chore = chunk.get(i);
+            if (Objects.isNull(chore.getId())) {
+                insertStatement.setString(1, chore.getDescription());
+                insertStatement.setBoolean(2, isCompleted(chore));
+                insertStatement.setDate(3, Date.valueOf(chore.getDeadline()));
+                insertStatement.addBatch();
+                inserted.add(i);
+            } else {
+                updateStatement.setString(1, chore.getDescription());
+                updateStatement.setBoolean(2, isCompleted(chore));
+                updateStatement.setDate(3, Date.valueOf(chore.getDeadline()));
+                updateStatement.setLong(4, chore.getId());
+                updateStatement.addBatch();
+            }
+        }
+        if (!inserted.isEmpty()) {
+            executeBatch(insertStatement, inserted.size());
+            try (ResultSet generatedKeys = insertStatement.getGeneratedKeys()) {
+                for (int position : inserted) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("The database returned fewer ids than the chores inserted");
+                    }
+                    generatedIds[position] = generatedKeys.getLong(1);
+                }
+            }
+        }
+        if (inserted.size() < chunk.size()) {
+            int[] updatedRows = executeBatch(updateStatement, chunk.size() - inserted.size());
+            // A chore with an id that isn't on the database would otherwise be lost without an error
+            for (int rows : updatedRows) {
+                if (rows == 0) {
+                    throw new SQLException("Unable to update a chore that is not on the database");
+                }
+            }
         }
-        try {
-            // Define qual a query que quer executar
-            // Query de INSERT
-            // Quando não sabe quais serão as informações
-            preparedStatement = connection.prepareStatement(
-                    ChoreBook.INSERT_CHORE);
+        return generatedIds;
+    }
+
+    @Override
+    public boolean save(Chore chore) {
+        try (PooledConnection connection = pool.acquire()) {
+            // PreparedStatement: executa queries dinâmicas, ideal para quando vamos executar a query
+            // múltiplas vezes. O pool guarda o statement já preparado em cada conexão
+            PreparedStatement preparedStatement = connection.prepareStatement(
+                    ChoreBook.INSERT_CHORE, Statement.RETURN_GENERATED_KEYS);
 
             // Falando que os valores ? ? ? serão nomeados, setados
             preparedStatement.setString(1, chore.getDescription());
-            preparedStatement.setBoolean(2, chore.getIsCompleted());
+            preparedStatement.setBoolean(2, isCompleted(chore));
             preparedStatement.setDate(3, Date.valueOf(chore.getDeadline()));
 
             // Executando a query por atualização na tabela
             // Guardando quantas linhas foram afetadas pela atualização
-            int affectedRows = preparedStatement.executeUpdate();
+            int affectedRows = execute(preparedStatement);
             if(affectedRows > 0) {
+                // Guardando o id gerado pelo banco, usado depois no update e no delete
+                try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        chore.setId(generatedKeys.getLong(1));
+                    }
+                }
                 return Boolean.TRUE;
             }
             return Boolean.FALSE;
         } catch (SQLException exception) {
             System.out.println("Error when inserting a new chore on database");
-        } finally {
-            closeConnections();
         }
         return false;
     }
 
     @Override
     public boolean update(Chore chore){
-        if(!connectToMySQL()){
-            return Boolean.FALSE;
+        if (Objects.isNull(chore.getId())) {
+            return false;
         }
-        try {
-            preparedStatement = connection.prepareStatement(
-                    ChoreBook.UPDATE_CHORE);
+        try (PooledConnection connection = pool.acquire()) {
+            // Também grava o status, para que o toggle de uma chore seja persistido
+            PreparedStatement preparedStatement = connection.prepareStatement(
+                    ChoreBook.UPDATE_CHORE_WITH_STATUS);
             preparedStatement.setString(1, chore.getDescription());
-            preparedStatement.setDate(2, Date.valueOf(chore.getDeadline()));
-            preparedStatement.setLong(3, chore.getId());
+            preparedStatement.setBoolean(2, isCompleted(chore));
+            preparedStatement.setDate(3, Date.valueOf(chore.getDeadline()));
+            preparedStatement.setLong(4, chore.getId());
 
-            int affectedRows = preparedStatement.executeUpdate();
+            int affectedRows = execute(preparedStatement);
             if (affectedRows > 0){
                 return Boolean.TRUE;
             }
             return Boolean.FALSE;
         }catch (SQLException exception){
             System.out.println(("Error when updating the chore on database"));
-        }finally {
-            closeConnections();
         }
         return false;
     }
 
-    private boolean connectToMySQL() {
-        try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            connection = DriverManager
-                    .getConnection("jdbc:mysql://localhost:3306/db?"
-                            + "user=root&password=secretpassword");
-            return Boolean.TRUE;
-        } catch (ClassNotFoundException | SQLException exception) {
-            System.err.println("Error when connecting to the database: " + exception.getMessage());
-            exception.printStackTrace();
+    @Override
+    public boolean delete(Chore chore){
+        if (Objects.isNull(chore.getId())) {
+            return false;
         }
-        return Boolean.FALSE;
-    }
-
-    private void closeConnections(){
-        try {
-            if (Objects.nonNull(connection) && !connection.isClosed()) {
-                connection.close();
-            }
-            if (Objects.nonNull(statement) && !statement.isClosed()) {
-                statement.close();
-            }
-            if (Objects.nonNull(preparedStatement) && !preparedStatement.isClosed()) {
-                preparedStatement.close();
-            }
-            if (Objects.nonNull(resultSet) && !resultSet.isClosed()) {
-                resultSet.close();
-            }
-        } catch (SQLException exception) {
-            System.out.println("Error when closing database connections");
+        try (PooledConnection connection = pool.acquire()) {
+            PreparedStatement preparedStatement = connection.prepareStatement(
+                    ChoreBook.DELETE_CHORE);
+            preparedStatement.setLong(1, chore.getId());
+            return execute(preparedStatement) > 0;
+        }catch (SQLException exception){
+            System.out.println("Error when deleting the chore on database");
         }
-
+        return false;
     }
 }
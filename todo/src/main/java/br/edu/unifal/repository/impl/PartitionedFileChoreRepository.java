@@ -0,0 +1,330 @@
+package br.edu.unifal.repository.impl;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.enumerator.FileFormat;
+import br.edu.unifal.metrics.MetricsRegistry;
+import br.edu.unifal.repository.ChoreRepository;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * File repository that splits the chores into one file per deadline month inside a directory
+ * (chores-2026-10.json, and chores-undated.json for the chores without a deadline), each one
+ * written by a {@link FileChoreRepository}. loadDueBetween only reads the months in the range and
+ * saveAll only rewrites the months that changed since they were last read or written, so old
+ * months cost nothing until they are asked for.
+ * saveAll never deletes a month this repository hasn't read or written, as its chores may just not
+ * have been loaded. For the same reason, such a month is read before it is written, and its chores
+ * that weren't given are kept. Each month is replaced atomically, but a crash while saving may
+ * leave some months from before the save and some from after it.
+ * Like the plain file, it only persists through saveAll.
+ */
+public class PartitionedFileChoreRepository implements ChoreRepository {
+
+    public static final String DEFAULT_DIRECTORY = "chores";
+
+    private static final String UNDATED = "undated";
+
+    private static final Pattern PARTITION = Pattern.compile("chores-(\\d{4}-\\d{2}|" + UNDATED + ")\\.json");
+
+    /**
+     * A chore as it was last read or written, to tell whether its month changed since
+     */
+    private record Row(Long id, String description, Boolean isCompleted, LocalDate deadline) {
+
+        static Row of(Chore chore) {
+            return new Row(chore.getId(), chore.getDescription(), chore.getIsCompleted(), chore.getDeadline());
+        }
+
+        boolean matches(Chore chore) {
+            return Objects.equals(id, chore.getId())
+                    && Objects.equals(description, chore.getDescription())
+                    && Objects.equals(isCompleted, chore.getIsCompleted())
+                    && Objects.equals(deadline, chore.getDeadline());
+        }
+    }
+
+    /**
+     * What tells a given chore and a stored one apart: the id or, for chores without one yet,
+     * the description and the deadline
+     */
+    private record Key(Long id, String description, LocalDate deadline) {
+
+        static Key of(Chore chore) {
+            return Objects.nonNull(chore.getId())
+                    ? new Key(chore.getId(), null, null)
+                    : new Key(null, chore.getDescription(), chore.getDeadline());
+        }
+    }
+
+    private final File directory;
+    private final FileFormat format;
+    private final boolean compressed;
+
+    // The file repository of each month, created on first use
+    private final Map<String, FileChoreRepository> partitions = new HashMap<>();
+
+    // The chores of each month as last read or written; months never touched aren't here
+    private final Map<String, Row[]> known = new HashMap<>();
+
+    // Months read, written and left alone ("partition.*")
+    private final MetricsRegistry metrics = MetricsRegistry.global();
+
+    /**
+     * @param directory The directory of the month files, created on the first save
+     * @param format The format each month is written in
+     * @param compressed TRUE, to compress each month with GZIP
+     */
+    public PartitionedFileChoreRepository(String directory, FileFormat format, boolean compressed) {
+        this.directory = new File(directory);
+        this.format = format;
+        this.compressed = compressed;
+    }
+
+    public PartitionedFileChoreRepository(String directory) {
+        this(directory, FileFormat.JSON, false);
+    }
+
+    public PartitionedFileChoreRepository() {
+        this(DEFAULT_DIRECTORY);
+    }
+
+    /**
+     * Reads the months in parallel on the common ForkJoinPool and merges them in order
+     * @return List<Chore> Every chore, month by month, or null if a month can't be read
+     */
+    @Override
+    public synchronized List<Chore> load() {
+        List<String> months = new ArrayList<>(listPartitions());
+        List<ForkJoinTask<List<Chore>>> reads = new ArrayList<>(months.size());
+        for (String month : months) {
+            FileChoreRepository partition = partition(month);
+            reads.add(ForkJoinPool.commonPool().submit(() -> {
+                List<Chore> chores = new ArrayList<>();
+                return partition.loadEach(chores::add) ? chores : null;
+            }));
+        }
+        List<Chore> chores = new ArrayList<>();
+        for (int i = 0; i < months.size(); i++) {
+            List<Chore> month = reads.get(i).join();
+            if (Objects.isNull(month)) {
+                return null;
+            }
+            known.put(months.get(i), rowsOf(month));
+            metrics.increment("partition.reads");
+            chores.addAll(month);
+        }
+        return chores;
+    }
+
+    @Override
+    public synchronized boolean loadEach(Consumer<Chore> consumer) {
+        for (String partition : listPartitions()) {
+            if (!read(partition, consumer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads only the months that overlap the range
+     */
+    @Override
+    public synchronized List<Chore> loadDueBetween(LocalDate from, LocalDate to) {
+        YearMonth first = YearMonth.from(from);
+        YearMonth last = YearMonth.from(to);
+        List<Chore> chores = new ArrayList<>();
+        for (String partition : listPartitions()) {
+            if (UNDATED.equals(partition)) {
+                continue;
+            }
+            YearMonth month = YearMonth.parse(partition);
+            if (month.isBefore(first) || month.isAfter(last)) {
+                metrics.increment("partition.skipped");
+                continue;
+            }
+            boolean loaded = read(partition, chore -> {
+                LocalDate deadline = chore.getDeadline();
+                if (Objects.nonNull(deadline) && !deadline.isBefore(from) && !deadline.isAfter(to)) {
+                    chores.add(chore);
+                }
+            });
+            if (!loaded) {
+                return null;
+            }
+        }
+        return chores;
+    }
+
+    /**
+     * Method to write the chores month by month, skipping the months whose chores are the same as
+     * when they were last read or written, and deleting the known months left without chores.
+     * A month on disk that was never read keeps its chores, with the given ones in place of those
+     * they match.
+     * @param chores The chores to be written
+     * @return TRUE, if every changed month was written and <br/>
+     *         FALSE, if a month fails (the other months are still written)
+     */
+    @Override
+    public synchronized boolean saveAll(List<Chore> chores) {
+        Map<String, List<Chore>> months = new TreeMap<>();
+        for (Chore chore : chores) {
+            months.computeIfAbsent(partitionOf(chore.getDeadline()), partition -> new ArrayList<>()).add(chore);
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            System.out.println("ERROR: Unable to create the directory of the chores.");
+            return false;
+        }
+        boolean saved = true;
+        for (Map.Entry<String, List<Chore>> month : months.entrySet()) {
+            if (isUnchanged(known.get(month.getKey()), month.getValue())) {
+                metrics.increment("partition.skipped");
+                continue;
+            }
+            List<Chore> monthChores = month.getValue();
+            if (!known.containsKey(month.getKey()) && fileOf(month.getKey()).exists()) {
+                monthChores = mergeUnread(month.getKey(), monthChores);
+                if (Objects.isNull(monthChores)) {
+                    // Writing the month anyway would lose the chores that couldn't be read
+                    System.out.println("ERROR: Unable to read the chores of " + month.getKey() + " before writing them.");
+                    saved = false;
+                    continue;
+                }
+            }
+            if (partition(month.getKey()).saveSnapshot(monthChores)) {
+                known.put(month.getKey(), rowsOf(monthChores));
+                metrics.increment("partition.writes");
+            } else {
+                saved = false;
+            }
+        }
+        for (Iterator<String> iterator = known.keySet().iterator(); iterator.hasNext(); ) {
+            String partition = iterator.next();
+            if (months.containsKey(partition)) {
+                continue;
+            }
+            File file = fileOf(partition);
+            if (file.delete() || !file.exists()) {
+                iterator.remove();
+                metrics.increment("partition.deletes");
+            } else {
+                System.out.println("ERROR: Unable to delete the chores of " + partition + ".");
+                saved = false;
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean save(Chore chore) {
+        return false;
+    }
+
+    @Override
+    public boolean update(Chore chore) {
+        return false;
+    }
+
+    @Override
+    public boolean delete(Chore chore) {
+        return false;
+    }
+
+    // A month is read whole, so it can be remembered for the next saveAll
+    private boolean read(String partition, Consumer<Chore> consumer) {
+        List<Chore> chores = new ArrayList<>();
+        if (!partition(partition).loadEach(chores::add)) {
+            return false;
+        }
+        known.put(partition, rowsOf(chores));
+        metrics.increment("partition.reads");
+        chores.forEach(consumer);
+        return true;
+    }
+
+    // The stored chores keep their order, the given ones take the place of the chores they match
+    // and the rest go after them
+    private List<Chore> mergeUnread(String partition, List<Chore> chores) {
+        List<Chore> stored = new ArrayList<>();
+        if (!partition(partition).loadEach(stored::add)) {
+            return null;
+        }
+        metrics.increment("partition.reads");
+        Map<Key, Chore> given = new LinkedHashMap<>();
+        for (Chore chore : chores) {
+            given.put(Key.of(chore), chore);
+        }
+        List<Chore> merged = new ArrayList<>(stored.size() + chores.size());
+        for (Chore chore : stored) {
+            Chore replacement = given.remove(Key.of(chore));
+            merged.add(Objects.isNull(replacement) ? chore : replacement);
+        }
+        merged.addAll(given.values());
+        return merged;
+    }
+
+    private TreeSet<String> listPartitions() {
+        TreeSet<String> partitions = new TreeSet<>();
+        String[] names = directory.list();
+        if (Objects.isNull(names)) {
+            return partitions;
+        }
+        for (String name : names) {
+            Matcher matcher = PARTITION.matcher(name);
+            if (matcher.matches()) {
+                partitions.add(matcher.group(1));
+            }
+        }
+        return partitions;
+    }
+
+    private FileChoreRepository partition(String partition) {
+        return partitions.computeIfAbsent(partition,
+                name -> FileChoreRepository.of(fileOf(name).getPath(), format, compressed));
+    }
+
+    private File fileOf(String partition) {
+        return new File(directory, "chores-" + partition + ".json");
+    }
+
+    private static String partitionOf(LocalDate deadline) {
+        return Objects.isNull(deadline) ? UNDATED : YearMonth.from(deadline).toString();
+    }
+
+    private static boolean isUnchanged(Row[] rows, List<Chore> chores) {
+        if (Objects.isNull(rows) || rows.length != chores.size()) {
+            return false;
+        }
+        for (int i = 0; i < rows.length; i++) {
+            if (!rows[i].matches(chores.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Row[] rowsOf(List<Chore> chores) {
+        Row[] rows = new Row[chores.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = Row.of(chores.get(i));
+        }
+        return rows;
+    }
+}
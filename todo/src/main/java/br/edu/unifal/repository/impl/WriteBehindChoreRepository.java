@@ -0,0 +1,452 @@
+package br.edu.unifal.repository.impl;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.domain.ChoreChanges;
+import br.edu.unifal.enumerator.ChoreFilter;
+import br.edu.unifal.metrics.MetricsRegistry;
+import br.edu.unifal.repository.ChoreRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Decorator that acknowledges save, update and delete at once and writes them to the wrapped
+ * repository later, in batches, from a background thread. Changes to the same chore are coalesced
+ * while they wait (e.g. a save followed by updates is written as one insert, a save followed by a
+ * delete isn't written at all).
+ * A batch is flushed when batchSize changes are pending or every flushInterval, whichever comes first.
+ * At most maxPending changes wait to be written; past that, writers block until a flush makes room.
+ * Reads flush first, so they always see the acknowledged writes.
+ * A batch that fails is retried one chore at a time, so one bad change doesn't hold back the others;
+ * a change that fails maxAttempts flushes in a row is given up on and kept as a dead letter.
+ * New chores only get their id when their insert is flushed, which is reported through onIdAssigned.
+ * The wrapped repository must support single-chore writes, so a plain {@link FileChoreRepository} won't do.
+ */
+public class WriteBehindChoreRepository implements ChoreRepository, AutoCloseable {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    public static final int DEFAULT_MAX_PENDING = 10_000;
+
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+    enum Operation { SAVE, UPDATE, DELETE }
+
+    /**
+     * Compares chores by identity, so chores without an id yet can be coalesced too
+     */
+    private record ChoreRef(Chore chore) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ChoreRef ref && ref.chore == chore;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(chore);
+        }
+    }
+
+    private final ChoreRepository repository;
+    private final int batchSize;
+    private final int maxPending;
+    private final int maxAttempts;
+
+    // Guards pending, inFlight, attempts and deadLetters; writers wait on notFull while the queue is full
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private Map<ChoreRef, Operation> pending = new LinkedHashMap<>();
+    private int inFlight;
+    // The failed flushes of each change still waiting to be written
+    private final Map<ChoreRef, Integer> attempts = new HashMap<>();
+    private final List<Chore> deadLetters = new ArrayList<>();
+
+    // Only one flush writes at a time, so the changes reach the repository in order
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final ScheduledExecutorService flusher;
+    private final MetricsRegistry metrics = MetricsRegistry.global();
+    private volatile boolean closed;
+    private volatile Consumer<Chore> idListener = chore -> { };
+
+    /**
+     * @param repository The repository the changes are written to
+     * @param batchSize The number of changes written at once
+     * @param maxPending The number of changes that may wait to be written
+     * @param flushIntervalMillis How often the pending changes are written
+     * @param maxAttempts The number of failed flushes after which a change is given up on
+     */
+    public WriteBehindChoreRepository(ChoreRepository repository, int batchSize, int maxPending, long flushIntervalMillis, int maxAttempts) {
+        if (batchSize < 1 || maxPending < batchSize) {
+            throw new IllegalArgumentException("The queue must satisfy 1 <= batchSize <= maxPending");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("A change must be attempted at least once");
+        }
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.maxAttempts = maxAttempts;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chore-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public WriteBehindChoreRepository(ChoreRepository repository, int batchSize, int maxPending, long flushIntervalMillis) {
+        this(repository, batchSize, maxPending, flushIntervalMillis, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    public WriteBehindChoreRepository(ChoreRepository repository) {
+        this(repository, DEFAULT_BATCH_SIZE, DEFAULT_MAX_PENDING, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    @Override
+    public List<Chore> load() {
+        flush();
+        return repository.load();
+    }
+
+    @Override
+    public boolean loadEach(Consumer<Chore> consumer) {
+        flush();
+        return repository.loadEach(consumer);
+    }
+
+    @Override
+    public List<Chore> loadFiltered(ChoreFilter filter) {
+        flush();
+        return repository.loadFiltered(filter);
+    }
+
+    @Override
+    public Chore findById(Long id) {
+        flush();
+        return repository.findById(id);
+    }
+
+    @Override
+    public List<Chore> loadPage(Long afterId, int limit) {
+        flush();
+        return repository.loadPage(afterId, limit);
+    }
+
+    @Override
+    public List<Chore> loadDueBetween(LocalDate from, LocalDate to) {
+        flush();
+        return repository.loadDueBetween(from, to);
+    }
+
+    @Override
+    public ChoreChanges loadChangedSince(LocalDateTime marker) {
+        flush();
+        return repository.loadChangedSince(marker);
+    }
+
+    /**
+     * Writes the pending changes and then every chore, synchronously
+     */
+    @Override
+    public boolean saveAll(List<Chore> chores) {
+        return flush() && repository.saveAll(chores);
+    }
+
+    @Override
+    public boolean saveSnapshot(List<Chore> chores) {
+        return flush() && repository.saveSnapshot(chores);
+    }
+
+    /**
+     * @return TRUE, once the insert is queued (the chore gets its id when it is written) and <br/>
+     *         FALSE, if interrupted while waiting for room on the queue
+     */
+    @Override
+    public boolean save(Chore chore) {
+        return enqueue(chore, Operation.SAVE);
+    }
+
+    @Override
+    public void onIdAssigned(Consumer<Chore> listener) {
+        idListener = listener;
+    }
+
+    @Override
+    public boolean update(Chore chore) {
+        return enqueue(chore, Operation.UPDATE);
+    }
+
+    @Override
+    public boolean delete(Chore chore) {
+        return enqueue(chore, Operation.DELETE);
+    }
+
+    /**
+     * @return int The number of changes waiting to be written
+     */
+    public int getPendingWrites() {
+        lock.lock();
+        try {
+            return pending.size() + inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to take the chores whose change was given up on after failing maxAttempts flushes
+     * @return List<Chore> The chores given up on since the last call
+     */
+    public List<Chore> drainDeadLetters() {
+        lock.lock();
+        try {
+            List<Chore> drained = new ArrayList<>(deadLetters);
+            deadLetters.clear();
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to write every pending change to the wrapped repository, blocking until it's done.
+     * Changes that fail are kept, to be retried on the next flush, until they fail maxAttempts times.
+     * @return TRUE, if every pending change was written and <br/>
+     *         FALSE, if a change fails
+     */
+    @Override
+    public boolean flush() {
+        flushLock.lock();
+        try {
+            flushScheduled.set(false);
+            Map<ChoreRef, Operation> batch = drain();
+            if (batch.isEmpty()) {
+                return true;
+            }
+            long start = System.nanoTime();
+            boolean flushed = write(batch);
+            metrics.recordSince("writeBehind.flush", start);
+            return flushed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the background flushes and writes what is still pending.
+     * Writes after close go straight to the wrapped repository.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        if (!flush()) {
+            System.out.println("ERROR: Unable to write the pending chores when closing.");
+        }
+    }
+
+    private boolean enqueue(Chore chore, Operation operation) {
+        if (closed) {
+            return writeNow(chore, operation);
+        }
+        ChoreRef ref = new ChoreRef(chore);
+        lock.lock();
+        try {
+            // Changes to a chore that is already queued take no room, so they never wait
+            while (!pending.containsKey(ref) && pending.size() + inFlight >= maxPending) {
+                scheduleFlush();
+                metrics.increment("writeBehind.backpressure");
+                notFull.await();
+            }
+            merge(pending, ref, operation);
+            if (pending.size() >= batchSize) {
+                scheduleFlush();
+            }
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Folds a new change into the one already queued for the same chore
+    private static void merge(Map<ChoreRef, Operation> changes, ChoreRef ref, Operation operation) {
+        Operation queued = changes.get(ref);
+        if (queued == null) {
+            changes.put(ref, operation);
+        } else if (operation == Operation.DELETE) {
+            if (queued == Operation.SAVE) {
+                // Never written, so there is nothing to delete
+                changes.remove(ref);
+            } else {
+                changes.put(ref, Operation.DELETE);
+            }
+        } else if (operation == Operation.SAVE) {
+            changes.put(ref, Operation.SAVE);
+        }
+        // An update after a save or a delete is already covered by it
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException exception) {
+                // Closing: close() writes what is left
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    private Map<ChoreRef, Operation> drain() {
+        lock.lock();
+        try {
+            Map<ChoreRef, Operation> batch = pending;
+            pending = new LinkedHashMap<>();
+            inFlight += batch.size();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Inserts and updates go first, so a chore updated and deleted through different
+    // instances ends up deleted
+    private boolean write(Map<ChoreRef, Operation> batch) {
+        List<Chore> saves = new ArrayList<>();
+        List<Chore> deletes = new ArrayList<>();
+        for (Map.Entry<ChoreRef, Operation> entry : batch.entrySet()) {
+            (entry.getValue() == Operation.DELETE ? deletes : saves).add(entry.getKey().chore());
+        }
+        List<Chore> failures = new ArrayList<>();
+        for (int from = 0; from < saves.size(); from += batchSize) {
+            List<Chore> chunk = saves.subList(from, Math.min(from + batchSize, saves.size()));
+            List<Chore> inserts = chunk.stream().filter(chore -> chore.getId() == null).toList();
+            List<Chore> failedRows = writeChunk(chunk, repository::saveBatch);
+            written(chunk, failedRows);
+            failures.addAll(failedRows);
+            inserts.stream().filter(chore -> chore.getId() != null).forEach(idListener);
+        }
+        if (!failures.isEmpty()) {
+            // The deletes wait for the saves, to keep them in that order
+            return failed(batch, failures, deletes);
+        }
+        for (int from = 0; from < deletes.size(); from += batchSize) {
+            List<Chore> chunk = deletes.subList(from, Math.min(from + batchSize, deletes.size()));
+            List<Chore> failedRows = writeChunk(chunk, repository::deleteBatch);
+            written(chunk, failedRows);
+            failures.addAll(failedRows);
+        }
+        return failures.isEmpty() || failed(batch, failures, List.of());
+    }
+
+    // A single bad chore fails its whole chunk, so a failed chunk is written again one chore at a
+    // time to let the others through. Returns the chores that still fail
+    private static List<Chore> writeChunk(List<Chore> chunk, Predicate<List<Chore>> writer) {
+        if (writer.test(chunk)) {
+            return List.of();
+        }
+        if (chunk.size() == 1) {
+            return chunk;
+        }
+        List<Chore> failedRows = new ArrayList<>();
+        for (Chore chore : chunk) {
+            if (!writer.test(List.of(chore))) {
+                failedRows.add(chore);
+            }
+        }
+        return failedRows;
+    }
+
+    private void written(List<Chore> chunk, List<Chore> failedRows) {
+        lock.lock();
+        try {
+            inFlight -= chunk.size() - failedRows.size();
+            if (!attempts.isEmpty()) {
+                chunk.stream()
+                        .filter(chore -> failedRows.stream().noneMatch(failed -> failed == chore))
+                        .forEach(chore -> attempts.remove(new ChoreRef(chore)));
+            }
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Puts the failed and the deferred changes back in front of the ones queued meanwhile, to be
+    // retried; a change that failed maxAttempts flushes goes to the dead letters instead
+    private boolean failed(Map<ChoreRef, Operation> batch, List<Chore> failures, List<Chore> deferred) {
+        metrics.increment("writeBehind.flush.failures");
+        Map<ChoreRef, Operation> retry = new LinkedHashMap<>();
+        int dropped = 0;
+        lock.lock();
+        try {
+            for (Chore chore : failures) {
+                ChoreRef ref = new ChoreRef(chore);
+                if (attempts.merge(ref, 1, Integer::sum) >= maxAttempts) {
+                    attempts.remove(ref);
+                    deadLetters.add(chore);
+                    dropped++;
+                } else {
+                    retry.put(ref, batch.get(ref));
+                }
+            }
+            for (Chore chore : deferred) {
+                ChoreRef ref = new ChoreRef(chore);
+                retry.put(ref, batch.get(ref));
+            }
+            pending.forEach((ref, operation) -> merge(retry, ref, operation));
+            pending = retry;
+            inFlight -= failures.size() + deferred.size();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (dropped > 0) {
+            metrics.add("writeBehind.dropped", dropped);
+            System.out.println("ERROR: Unable to write " + dropped + " chores after " + maxAttempts + " attempts, they were given up on.");
+        }
+        if (failures.size() > dropped) {
+            System.out.println("ERROR: Unable to write the pending chores, they will be retried on the next flush.");
+        }
+        return false;
+    }
+
+    private boolean writeNow(Chore chore, Operation operation) {
+        switch (operation) {
+            case SAVE:
+                return repository.save(chore);
+            case UPDATE:
+                return repository.update(chore);
+            case DELETE:
+            default:
+                return repository.delete(chore);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package br.edu.unifal.repository.pool;
+
+import br.edu.unifal.metrics.MetricsRegistry;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of long-lived JDBC connections.
+ * Connections are borrowed with {@link #acquire()} and given back by closing the {@link PooledConnection}.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private final ConnectionPoolConfig config;
+
+    // Idle connections, the most recently used at the head
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+
+    // One permit per connection that may still be handed out
+    private final Semaphore permits;
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    private final ScheduledExecutorService evictor;
+
+    private volatile boolean closed;
+
+    private final MetricsRegistry metrics = MetricsRegistry.global();
+
+    public ConnectionPool(ConnectionPoolConfig config) {
+        if (config.getMinSize() < 0 || config.getMaxSize() < 1 || config.getMinSize() > config.getMaxSize()) {
+            throw new IllegalArgumentException("The pool size must satisfy 0 <= minSize <= maxSize and maxSize >= 1");
+        }
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+        try {
+            Class.forName("com.mysql.cj.jdbc.Driver");
+        } catch (ClassNotFoundException exception) {
+            System.err.println("Error when loading the database driver: " + exception.getMessage());
+        }
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chore-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getEvictionInterval().toMillis();
+        evictor.scheduleWithFixedDelay(this::maintain, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public ConnectionPool() {
+        this(ConnectionPoolConfig.builder().build());
+    }
+
+    /**
+     * Method to borrow a connection from the pool
+     * @return PooledConnection A valid connection. Closing it gives it back to the pool.
+     * @throws SQLException When no connection is available within the acquire timeout or it cannot be opened
+     */
+    public PooledConnection acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return borrow();
+        } catch (SQLException exception) {
+            metrics.increment("pool.acquire.failures");
+            throw exception;
+        } finally {
+            metrics.recordSince("pool.acquire", start);
+        }
+    }
+
+    private PooledConnection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("The connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(config.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for a database connection");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", exception);
+        }
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    pooled.touch();
+                    return pooled;
+                }
+                discard(pooled);
+            }
+            return open();
+        } catch (SQLException | RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+    }
+
+    void release(PooledConnection pooled) {
+        try {
+            if (closed || pooled.isBroken() || pooled.getConnection().isClosed()) {
+                discard(pooled);
+                return;
+            }
+            if (!pooled.getConnection().getAutoCommit()) {
+                pooled.getConnection().rollback();
+                pooled.getConnection().setAutoCommit(true);
+            }
+            pooled.touch();
+            idle.offerFirst(pooled);
+        } catch (SQLException exception) {
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        PooledConnection pooled = new PooledConnection(this,
+                DriverManager.getConnection(config.getUrl()), config.getStatementCacheSize());
+        openConnections.incrementAndGet();
+        return pooled;
+    }
+
+    private void discard(PooledConnection pooled) {
+        openConnections.decrementAndGet();
+        pooled.closePhysically();
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.nanoTime() - pooled.getLastUsed() < config.getValidationInterval().toNanos()) {
+            return true;
+        }
+        try {
+            return pooled.getConnection().isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes connections idle for too long and tops the pool up to its minimum size
+     */
+    private void maintain() {
+        if (closed) {
+            return;
+        }
+        long idleTimeout = config.getIdleTimeout().toNanos();
+        Iterator<PooledConnection> iterator = idle.descendingIterator();
+        while (iterator.hasNext() && openConnections.get() > config.getMinSize()) {
+            PooledConnection pooled = iterator.next();
+            if (System.nanoTime() - pooled.getLastUsed() > idleTimeout && idle.removeFirstOccurrence(pooled)) {
+                discard(pooled);
+            }
+        }
+        while (openConnections.get() < config.getMinSize() && permits.tryAcquire()) {
+            try {
+                idle.offerLast(open());
+            } catch (SQLException exception) {
+                System.err.println("Error when connecting to the database: " + exception.getMessage());
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package br.edu.unifal.repository.pool;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@link ConnectionPool}
+ */
+@Getter
+@Builder
+public class ConnectionPoolConfig {
+
+    // rewriteBatchedStatements lets the driver send a batch of inserts as one multi-row INSERT
+    // useCursorFetch makes prepared statements with a fetch size read through a server-side cursor
+    @Builder.Default
+    private String url = "jdbc:mysql://localhost:3306/db?"
+            + "user=root&password=secretpassword&rewriteBatchedStatements=true&useCursorFetch=true";
+
+    // Connections kept open even when idle
+    @Builder.Default
+    private int minSize = 1;
+
+    // Upper bound of open connections (idle + in use)
+    @Builder.Default
+    private int maxSize = 10;
+
+    // How long a caller waits for a free connection before giving up
+    @Builder.Default
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+
+    // Idle connections above minSize are closed after this time
+    @Builder.Default
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // How often the idle connections are checked for eviction
+    @Builder.Default
+    private Duration evictionInterval = Duration.ofSeconds(30);
+
+    // Connections idle for longer than this are validated before being handed out
+    @Builder.Default
+    private Duration validationInterval = Duration.ofSeconds(5);
+
+    @Builder.Default
+    private int validationTimeoutSeconds = 2;
+
+    // Prepared statements cached per connection
+    @Builder.Default
+    private int statementCacheSize = 32;
+}
@@ -0,0 +1,133 @@
+package br.edu.unifal.repository.pool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection borrowed from a {@link ConnectionPool}.
+ * Closing it gives the connection back to the pool instead of closing the physical connection.
+ */
+public class PooledConnection implements AutoCloseable {
+
+    private final ConnectionPool pool;
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+    // Written by the borrowing thread and read by the evictor
+    private volatile long lastUsed;
+    private boolean broken;
+
+    PooledConnection(ConnectionPool pool, Connection connection, int statementCacheSize) {
+        this.pool = pool;
+        this.connection = connection;
+        this.lastUsed = System.nanoTime();
+        // LRU: the least recently used statement is closed when the cache is full
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= statementCacheSize) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Method to get a prepared statement for the given query, reusing the one cached on this connection
+     * @param sql The query
+     * @return PreparedStatement The statement, with its parameters cleared. It must not be closed by the caller.
+     * @throws SQLException When the statement cannot be prepared
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        PreparedStatement preparedStatement = statements.get(sql);
+        if (preparedStatement == null || preparedStatement.isClosed()) {
+            preparedStatement = connection.prepareStatement(sql);
+            statements.put(sql, preparedStatement);
+        } else {
+            preparedStatement.clearParameters();
+            preparedStatement.clearBatch();
+        }
+        return preparedStatement;
+    }
+
+    /**
+     * Method to get a cached prepared statement that returns the keys generated by inserts
+     * @param sql The query
+     * @param autoGeneratedKeys One of {@link Statement#RETURN_GENERATED_KEYS} or {@link Statement#NO_GENERATED_KEYS}
+     * @return PreparedStatement The statement, with its parameters cleared. It must not be closed by the caller.
+     * @throws SQLException When the statement cannot be prepared
+     */
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        String cacheKey = autoGeneratedKeys + ":" + sql;
+        PreparedStatement preparedStatement = statements.get(cacheKey);
+        if (preparedStatement == null || preparedStatement.isClosed()) {
+            preparedStatement = connection.prepareStatement(sql, autoGeneratedKeys);
+            statements.put(cacheKey, preparedStatement);
+        } else {
+            preparedStatement.clearParameters();
+            preparedStatement.clearBatch();
+        }
+        return preparedStatement;
+    }
+
+    /**
+     * Method to create a plain statement. Unlike prepared statements it is not cached,
+     * so the caller must close it.
+     * @return Statement The new statement
+     * @throws SQLException When the statement cannot be created
+     */
+    public Statement createStatement() throws SQLException {
+        return connection.createStatement();
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Method to flag the connection so it's discarded instead of going back to the pool
+     */
+    public void markBroken() {
+        this.broken = true;
+    }
+
+    boolean isBroken() {
+        return broken;
+    }
+
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    void touch() {
+        this.lastUsed = System.nanoTime();
+    }
+
+    void closePhysically() {
+        statements.values().forEach(PooledConnection::closeQuietly);
+        statements.clear();
+        try {
+            connection.close();
+        } catch (SQLException exception) {
+            System.out.println("Error when closing database connections");
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.release(this);
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // the statement is being discarded anyway
+        }
+    }
+}
@@ -1,30 +1,85 @@
 package br.edu.unifal.service;
 
 import br.edu.unifal.domain.Chore;
+import br.edu.unifal.domain.ChoreChanges;
 import br.edu.unifal.enumerator.ChoreFilter;
 import br.edu.unifal.excepition.*;
+import br.edu.unifal.metrics.MetricsRegistry;
 import br.edu.unifal.repository.ChoreRepository;
 import br.edu.unifal.repository.impl.FileChoreRepository;
+import br.edu.unifal.service.concurrent.StripedLock;
+import br.edu.unifal.service.index.ChoreIndex;
+import br.edu.unifal.service.index.ChoreKey;
+import br.edu.unifal.service.index.ChoreList;
+import br.edu.unifal.service.index.DeadlineIndex;
+import br.edu.unifal.service.index.IdIndex;
+import br.edu.unifal.service.index.TextIndex;
+import br.edu.unifal.service.store.ColumnarChoreStore;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.function.BiPredicate;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+/**
+ * Service safe for concurrent use. The chores and their indexes are published together
+ * as one {@link ChoreState}, which loadChores swaps atomically. Mutations lock only the
+ * stripes of the (description, deadline) keys they touch.
+ */
 public class ChoreService {
-    private List<Chore> chores;
+
+    /**
+     * The chore list and its indexes, always replaced together
+     */
+    private record ChoreState(ChoreList chores, ChoreIndex index, DeadlineIndex deadlineIndex, IdIndex idIndex, TextIndex textIndex) {
+
+        // The indexes are built before the state is published, so nothing else can see them half built
+        static ChoreState of(List<Chore> choreList){
+            ChoreList chores = Objects.isNull(choreList) ? new ChoreList() : new ChoreList(choreList);
+            ChoreState state = new ChoreState(chores, new ChoreIndex(), new DeadlineIndex(), new IdIndex(), new TextIndex());
+            state.index().reindex(chores);
+            state.deadlineIndex().reindex(chores);
+            state.idIndex().reindex(chores);
+            state.textIndex().reindex(chores);
+            return state;
+        }
+    }
+
+    private static final int LOCK_STRIPES = 64;
+
+    private volatile ChoreState state;
+    private final StripedLock locks;
     private ChoreRepository repository;
+    // Where the next syncChores resumes from; null until the first sync
+    private LocalDateTime syncMarker;
+    // Latency and failures of each mutation ("service.*")
+    private final MetricsRegistry metrics = MetricsRegistry.global();
+
+    // Guards the snapshot queued by saveChoresInBackground and the thread that writes it
+    private final Object snapshotLock = new Object();
+    private CompletableFuture<Boolean> queuedSnapshot;
+    private ExecutorService snapshotter;
 
     public ChoreService(ChoreRepository repository){
-        chores = new ArrayList<>();
+        state = ChoreState.of(null);
+        locks = new StripedLock(LOCK_STRIPES);
         this.repository = repository;
+        repository.onIdAssigned(this::indexAssignedId);
     }
 
     public ChoreService(){
-        chores = new ArrayList<>();
+        state = ChoreState.of(null);
+        locks = new StripedLock(LOCK_STRIPES);
         repository = new FileChoreRepository();
     }
 
@@ -38,31 +93,100 @@ public class ChoreService {
      * @throws DuplicatedChoreException When the given chore already exists
      */
     public Chore addChore(String description, LocalDate deadline){
-        if (Objects.isNull(description) || description.isEmpty()){
-            throw new InvalidDescriptionException("The description cannot be null or empty");
-        }
-        if(Objects.isNull(deadline) || deadline.isBefore(LocalDate.now())){
-            throw new InvalidDeadlineException("The deadline cannot be null or before the current date");
-        }
-        for(Chore chore : chores){
-            if (chore.getDescription().equals(description) && chore.getDeadline().isEqual(deadline)) {
-                throw new DuplicatedChoreException("The given chore already exists.");
+        long start = System.nanoTime();
+        try {
+            if (Objects.isNull(description) || description.isEmpty()){
+                throw new InvalidDescriptionException("The description cannot be null or empty");
             }
-        }
+            if(Objects.isNull(deadline) || deadline.isBefore(LocalDate.now())){
+                throw new InvalidDeadlineException("The deadline cannot be null or before the current date");
+            }
+            ChoreState state = this.state;
+            int[] stripes = locks.lock(new ChoreKey(description, deadline));
+            try {
+                if(state.index().contains(description, deadline)){
+                    throw new DuplicatedChoreException("The given chore already exists.");
+                }
 
-        Chore chore = new Chore(description, Boolean.FALSE, deadline);
+                Chore chore = new Chore(description, Boolean.FALSE, deadline);
 
-        repository.save(chore);
-        chores.add(chore);
-        return chore;
+                repository.save(chore);
+                state.chores().add(chore);
+                state.index().add(chore);
+                state.deadlineIndex().add(chore, state.chores().sequenceOf(chore));
+                state.textIndex().add(chore, state.chores().sequenceOf(chore));
+                state.idIndex().add(chore);
+                return chore;
+            } finally {
+                locks.unlock(stripes);
+            }
+        } catch (RuntimeException exception) {
+            metrics.increment("service.addChore.failures");
+            throw exception;
+        } finally {
+            metrics.recordSince("service.addChore", start);
+        }
+    }
+
+    /**
+     * Method to add many chores at once. Every chore is validated before any is added, and the
+     * new chores are persisted with a single repository call.
+     * @param chores The chores to be added; only their description and deadline are used
+     * @return List<Chore> The new (and uncompleted) chores, in the given order
+     * @throws InvalidDescriptionException When a description is null or empty
+     * @throws InvalidDeadlineException When a deadline is null or before the current date
+     * @throws DuplicatedChoreException When a chore already exists or is given twice
+     */
+    public List<Chore> addChores(Collection<Chore> chores){
+        long start = System.nanoTime();
+        try {
+            List<Chore> added = new ArrayList<>(chores.size());
+            for (Chore chore : chores) {
+                if (Objects.isNull(chore.getDescription()) || chore.getDescription().isEmpty()){
+                    throw new InvalidDescriptionException("The description cannot be null or empty");
+                }
+                if(Objects.isNull(chore.getDeadline()) || chore.getDeadline().isBefore(LocalDate.now())){
+                    throw new InvalidDeadlineException("The deadline cannot be null or before the current date");
+                }
+                added.add(new Chore(chore.getDescription(), Boolean.FALSE, chore.getDeadline()));
+            }
+            ChoreState state = this.state;
+            int[] stripes = locks.lockAll();
+            try {
+                Set<ChoreKey> keys = new HashSet<>();
+                for (Chore chore : added) {
+                    if(!keys.add(ChoreKey.of(chore)) || state.index().contains(chore.getDescription(), chore.getDeadline())){
+                        throw new DuplicatedChoreException("The given chore already exists.");
+                    }
+                }
+                repository.saveBatch(added);
+                for (Chore chore : added) {
+                    state.chores().add(chore);
+                    state.index().add(chore);
+                    state.deadlineIndex().add(chore, state.chores().sequenceOf(chore));
+                    state.textIndex().add(chore, state.chores().sequenceOf(chore));
+                    state.idIndex().add(chore);
+                }
+                return added;
+            } finally {
+                locks.unlock(stripes);
+            }
+        } catch (RuntimeException exception) {
+            metrics.increment("service.addChores.failures");
+            throw exception;
+        } finally {
+            metrics.recordSince("service.addChores", start);
+        }
     }
 
     /**
      * Method to get the added chores.
-     * @return List<Chore> The chores added until now.
+     * The list can't be changed through this view: chores are added, edited and deleted through
+     * the service, so the indexes always know about them.
+     * @return List<Chore> The chores added until now. It's a live, thread-safe and read-only view.
      */
     public List<Chore> getChores() {
-        return this.chores;
+        return Collections.unmodifiableList(this.state.chores());
     }
 
     /**
@@ -71,15 +195,38 @@ public class ChoreService {
      * @param deadline The deadline of the chore
      */
     public void deleteChore(String description, LocalDate deadline) {
-        if(isChoreListEmpty.test(this.chores)){
-            throw new EmptyChoreListException("Unable to remove a chore from an empty list");
-        }
-        if(!(isChoreExist.test(description,deadline))){
-            throw new ChoreNotFoundException("The given chore does not exist");
+        long start = System.nanoTime();
+        try {
+            ChoreState state = this.state;
+            if(isChoreListEmpty.test(state.chores())){
+                throw new EmptyChoreListException("Unable to remove a chore from an empty list");
+            }
+            int[] stripes = locks.lock(new ChoreKey(description, deadline));
+            try {
+                Chore chore = findChore(state, description, deadline);
+                if(Objects.isNull(chore)){
+                    throw new ChoreNotFoundException("The given chore does not exist");
+                }
+                Long sequence = state.chores().sequenceOf(chore);
+                state.chores().remove(chore);
+                state.index().remove(description, deadline);
+                if(Objects.nonNull(sequence)){
+                    state.deadlineIndex().remove(deadline, sequence);
+                    state.textIndex().remove(description, sequence);
+                }
+                if(Objects.nonNull(chore.getId())){
+                    state.idIndex().remove(chore.getId());
+                }
+                repository.delete(chore);
+            } finally {
+                locks.unlock(stripes);
+            }
+        } catch (RuntimeException exception) {
+            metrics.increment("service.deleteChore.failures");
+            throw exception;
+        } finally {
+            metrics.recordSince("service.deleteChore", start);
         }
-        this.chores = this.chores.stream()
-                .filter(chore -> !chore.getDescription().equals(description) && !chore.getDeadline().isEqual(deadline))
-                .collect(Collectors.toList());
     }
 
     /**
@@ -89,19 +236,154 @@ public class ChoreService {
      * @throws ChoreNotFoundException When the chore is not found on the list
      */
     public void toggleChore(String description, LocalDate deadline){
-        if(!(isChoreExist.test(description,deadline))){
-            throw new ChoreNotFoundException("Chore not found. Impossible to toggle!");
+        long start = System.nanoTime();
+        try {
+            ChoreState state = this.state;
+            int[] stripes = locks.lock(new ChoreKey(description, deadline));
+            try {
+                Chore chore = findChore(state, description, deadline);
+                if(Objects.isNull(chore)){
+                    throw new ChoreNotFoundException("Chore not found. Impossible to toggle!");
+                }
+                if(chore.getDeadline().isBefore(LocalDate.now()) && chore.getIsCompleted()){
+                    throw new ToggleChoreWithInvalidDeadlineException("Unable to toggle a completed chore with a past deadline");
+                }
+                chore.setIsCompleted(!chore.getIsCompleted());
+                repository.update(chore);
+            } finally {
+                locks.unlock(stripes);
+            }
+        } catch (RuntimeException exception) {
+            metrics.increment("service.toggleChore.failures");
+            throw exception;
+        } finally {
+            metrics.recordSince("service.toggleChore", start);
         }
-        this.chores.stream().map(chore-> {
-            if(!chore.getDescription().equals(description) && !chore.getDeadline().isEqual(deadline)){
-                return chore;
+    }
+
+    /**
+     * Method to toggle every chore that matches the condition, persisted with a single repository call.
+     * Nothing is toggled if any matching chore can't be.
+     * @param condition The chores to be toggled
+     * @return List<Chore> The toggled chores
+     * @throws ToggleChoreWithInvalidDeadlineException When a matching chore is completed and its deadline has passed
+     */
+    public List<Chore> toggleWhere(Predicate<Chore> condition){
+        long start = System.nanoTime();
+        try {
+            ChoreState state = this.state;
+            int[] stripes = locks.lockAll();
+            try {
+                List<Chore> toggled = new ArrayList<>();
+                LocalDate today = LocalDate.now();
+                for (Chore chore : state.chores()) {
+                    if (!condition.test(chore)) {
+                        continue;
+                    }
+                    if(chore.getDeadline().isBefore(today) && chore.getIsCompleted()){
+                        throw new ToggleChoreWithInvalidDeadlineException("Unable to toggle a completed chore with a past deadline");
+                    }
+                    toggled.add(chore);
+                }
+                toggled.forEach(chore -> chore.setIsCompleted(!chore.getIsCompleted()));
+                if (!toggled.isEmpty()) {
+                    repository.saveBatch(toggled);
+                }
+                return toggled;
+            } finally {
+                locks.unlock(stripes);
             }
-            if(chore.getDeadline().isBefore(LocalDate.now()) && chore.getIsCompleted()){
-                throw new ToggleChoreWithInvalidDeadlineException("Unable to toggle a completed chore with a past deadline");
+        } catch (RuntimeException exception) {
+            metrics.increment("service.toggleWhere.failures");
+            throw exception;
+        } finally {
+            metrics.recordSince("service.toggleWhere", start);
+        }
+    }
+
+    /**
+     * Method to delete every chore that matches the condition, persisted with a single repository call
+     * @param condition The chores to be deleted
+     * @return List<Chore> The deleted chores
+     */
+    public List<Chore> deleteWhere(Predicate<Chore> condition){
+        long start = System.nanoTime();
+        try {
+            ChoreState state = this.state;
+            int[] stripes = locks.lockAll();
+            try {
+                List<Chore> deleted = new ArrayList<>();
+                for (Chore chore : state.chores()) {
+                    if (condition.test(chore)) {
+                        deleted.add(chore);
+                    }
+                }
+                for (Chore chore : deleted) {
+                    Long sequence = state.chores().sequenceOf(chore);
+                    state.chores().remove(chore);
+                    state.index().remove(chore.getDescription(), chore.getDeadline());
+                    if(Objects.nonNull(sequence)){
+                        state.deadlineIndex().remove(chore.getDeadline(), sequence);
+                        state.textIndex().remove(chore.getDescription(), sequence);
+                    }
+                    if(Objects.nonNull(chore.getId())){
+                        state.idIndex().remove(chore.getId());
+                    }
+                }
+                if (!deleted.isEmpty()) {
+                    repository.deleteBatch(deleted);
+                }
+                return deleted;
+            } finally {
+                locks.unlock(stripes);
             }
-            chore.setIsCompleted(!chore.getIsCompleted());
-            return chore;
-        }).collect(Collectors.toList());
+        } catch (RuntimeException exception) {
+            metrics.increment("service.deleteWhere.failures");
+            throw exception;
+        } finally {
+            metrics.recordSince("service.deleteWhere", start);
+        }
+    }
+
+    /**
+     * Method to find a chore by its id
+     * @param id The id of the chore
+     * @return Chore The chore or null, if there is no chore with the given id
+     */
+    public Chore findById(long id){
+        return findIndexedChore(this.state, id);
+    }
+
+    /**
+     * Method to toggle the chore with the given id
+     * @param id The id of the chore
+     * @throws ChoreNotFoundException When there is no chore with the given id
+     */
+    public void toggleById(long id){
+        Chore chore = getById(id);
+        toggleChore(chore.getDescription(), chore.getDeadline());
+    }
+
+    /**
+     * Method to edit the description and deadline of the chore with the given id
+     * @param id The id of the chore
+     * @param newDescription The new description of the chore
+     * @param newDeadline The new deadline of the chore
+     * @throws ChoreNotFoundException When there is no chore with the given id
+     */
+    public void editById(long id, String newDescription, LocalDate newDeadline){
+        Chore chore = getById(id);
+        editChore(chore.getDescription(), chore.getDeadline(), newDescription, newDeadline);
+    }
+
+    /**
+     * Method to delete the chore with the given id
+     * @param id The id of the chore
+     * @throws ChoreNotFoundException When there is no chore with the given id
+     */
+    public void deleteById(long id){
+        Chore chore = getById(id);
+        deleteChore(chore.getDescription(), chore.getDeadline());
     }
 
     /**
@@ -110,15 +392,67 @@ public class ChoreService {
      * @return The list of chores filtered
      */
     public List<Chore> filterChores(ChoreFilter filter) {
+        List<Chore> chores = getChores();
         switch (filter){
             case COMPLETED:
-                return this.chores.stream().filter(Chore::getIsCompleted).collect(Collectors.toList());
+                return chores.stream().filter(Chore::getIsCompleted).collect(Collectors.toList());
             case UNCOMPLETED:
-                return this.chores.stream().filter(chore -> !chore.getIsCompleted()).collect(Collectors.toList());
+                return chores.stream().filter(chore -> !chore.getIsCompleted()).collect(Collectors.toList());
             case ALL:
             default:
-                return this.chores;
+                return chores;
+        }
+    }
+
+    /**
+     * Method to load from the repository only the chores that pass the filter,
+     * without loading every chore into the service
+     * @param filter The condition to filter the chore
+     * @return The list of chores filtered
+     */
+    public List<Chore> loadFilteredChores(ChoreFilter filter) {
+        List<Chore> filtered = repository.loadFiltered(filter);
+        return Objects.isNull(filtered) ? new ArrayList<>() : filtered;
+    }
+
+    /**
+     * Method to get the chores with a deadline inside the given range
+     * @param from The first day of the range (inclusive)
+     * @param to The last day of the range (inclusive)
+     * @return The chores ordered by deadline
+     */
+    public List<Chore> getChoresDueBetween(LocalDate from, LocalDate to) {
+        if(Objects.isNull(from) || Objects.isNull(to) || from.isAfter(to)){
+            throw new InvalidDeadlineException("The range must have a start date on or before its end date");
         }
+        return this.state.deadlineIndex().findBetween(from, to, ChoreFilter.ALL::matches, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Method to get the next uncompleted chores to be done, starting today
+     * @param limit The maximum number of chores returned
+     * @return The chores ordered by deadline
+     */
+    public List<Chore> getNextDueChores(int limit) {
+        return this.state.deadlineIndex().findFrom(LocalDate.now(), ChoreFilter.UNCOMPLETED::matches, limit);
+    }
+
+    /**
+     * Method to get the uncompleted chores with a deadline before today
+     * @return The chores ordered by deadline
+     */
+    public List<Chore> getOverdueChores() {
+        return this.state.deadlineIndex().findBefore(LocalDate.now(), ChoreFilter.UNCOMPLETED::matches, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Method to search the chores by the words of their description, ignoring case and accents
+     * @param query The words to look for, each one matching the words that start with it
+     * @param limit The maximum number of chores returned
+     * @return The chores whose description has every word of the query, in list order
+     */
+    public List<Chore> searchChores(String query, int limit) {
+        return this.state.textIndex().search(query, limit);
     }
 
     /**
@@ -126,10 +460,11 @@ public class ChoreService {
      * @throws EmptyChoreListException When the list is empty
      */
     public void printChores (){
-        if (isChoreListEmpty.test(this.chores)){
+        List<Chore> chores = this.state.chores();
+        if (isChoreListEmpty.test(chores)){
             throw new EmptyChoreListException("Unable to display chores of an empty list");
         }
-        this.chores.stream().forEach(chore ->
+        chores.stream().forEach(chore ->
                 System.out.println(
                         "ID: " + chore.getId() +
                         " - Descrição: \"" + chore.getDescription() + "\"" + " Deadline: " +
@@ -153,35 +488,118 @@ public class ChoreService {
      * @throws InvalidDeadlineException When the new deadline is invalid
      */
     public void editChore(String oldDescription, LocalDate oldDeadline, String newDescription, LocalDate newDeadline) {
-        if(isChoreListEmpty.test(this.chores)){
-            throw new EmptyChoreListException("Unable to edit a chore from an empty list");
-        }
-        if(!(isChoreExist.test(oldDescription, oldDeadline))){
-            throw new ChoreNotFoundException("Unable to edit a chore that does not exist");
-        }
-        if((isChoreExist.test(newDescription, newDeadline) && oldDeadline != newDeadline && oldDescription != newDescription)){
-            throw new DuplicatedChoreException("Unable to edit a chore to a chore that already exists");
+        long start = System.nanoTime();
+        try {
+            ChoreState state = this.state;
+            if(isChoreListEmpty.test(state.chores())){
+                throw new EmptyChoreListException("Unable to edit a chore from an empty list");
+            }
+            int[] stripes = locks.lock(new ChoreKey(oldDescription, oldDeadline), new ChoreKey(newDescription, newDeadline));
+            try {
+                Chore chore = findChore(state, oldDescription, oldDeadline);
+                if(Objects.isNull(chore)){
+                    throw new ChoreNotFoundException("Unable to edit a chore that does not exist");
+                }
+                Chore existing = findChore(state, newDescription, newDeadline);
+                if(Objects.nonNull(existing) && existing != chore){
+                    throw new DuplicatedChoreException("Unable to edit a chore to a chore that already exists");
+                }
+                if(Objects.isNull(newDescription) || newDescription.isEmpty()){
+                    throw new InvalidDescriptionException("Unable to edit a chore to a description that is null or empty");
+                }
+                if(Objects.isNull(newDeadline) || newDeadline.isBefore(LocalDate.now())){
+                    throw new InvalidDeadlineException("Unable to edit a chore to a deadline that is null or before the current date");
+                }
+                Long sequence = state.chores().sequenceOf(chore);
+                state.index().remove(oldDescription, oldDeadline);
+                if(Objects.nonNull(sequence)){
+                    state.deadlineIndex().remove(oldDeadline, sequence);
+                    state.textIndex().remove(oldDescription, sequence);
+                }
+                chore.setDeadline(newDeadline);
+                chore.setDescription(newDescription);
+                state.index().add(chore);
+                if(Objects.nonNull(sequence)){
+                    state.deadlineIndex().add(chore, sequence);
+                    state.textIndex().add(chore, sequence);
+                }
+                repository.update(chore);
+            } finally {
+                locks.unlock(stripes);
+            }
+        } catch (RuntimeException exception) {
+            metrics.increment("service.editChore.failures");
+            throw exception;
+        } finally {
+            metrics.recordSince("service.editChore", start);
         }
-        if(Objects.isNull(newDescription) || newDescription.isEmpty()){
-            throw new InvalidDescriptionException("Unable to edit a chore to a description that is null or empty");
+    }
+
+    /**
+     * Method to load the chores from the repository. The new chores and their indexes are
+     * built aside and published at once, so concurrent readers see either the old or the new chores.
+     */
+    public void loadChores() {
+        this.state = ChoreState.of(repository.load());
+    }
+
+    /**
+     * Method to load the chores into a compact columnar store instead of the service, for
+     * read-mostly work over datasets too large to keep as Chore objects. The chores are streamed
+     * from the repository, so only one is materialized at a time.
+     * @return ColumnarChoreStore The chores, or an empty store if the load fails
+     */
+    public ColumnarChoreStore loadColumnarChores() {
+        ColumnarChoreStore store = new ColumnarChoreStore();
+        return repository.loadEach(store::add) ? store : new ColumnarChoreStore();
+    }
+
+    /**
+     * Method to bring the chores up to date with the repository, merging only the chores changed
+     * or deleted since the last sync instead of reloading every chore. The first sync, and every
+     * sync on a repository without change tracking, loads every chore like loadChores.
+     * @return TRUE, if the chores were synced and <br/>
+     *         FALSE, if the load fails
+     */
+    public synchronized Boolean syncChores() {
+        ChoreChanges changes = repository.loadChangedSince(syncMarker);
+        if (Objects.isNull(changes)) {
+            return Boolean.FALSE;
         }
-        if(Objects.isNull(newDeadline) || newDeadline.isBefore(LocalDate.now())){
-            throw new InvalidDeadlineException("Unable to edit a chore to a deadline that is null or before the current date");
+        if (Objects.isNull(syncMarker) || Objects.isNull(changes.marker())) {
+            this.state = ChoreState.of(changes.changed());
+        } else if (!changes.changed().isEmpty() || !changes.deletedIds().isEmpty()) {
+            merge(this.state, changes);
         }
-        this.chores.stream().map(chore -> {
-            if(!chore.getDescription().equals(oldDescription) && !chore.getDeadline().isEqual(oldDeadline)){
-                return chore;
-            }
-            chore.setDeadline(newDeadline);
-            chore.setDescription(newDescription);
-            return chore;
-        }).collect(Collectors.toList());
+        syncMarker = changes.marker();
+        return Boolean.TRUE;
     }
 
     /**
+     * Method to read a page of chores straight from the repository, without loading them into the service
+     * @param afterId The id of the last chore of the previous page, or null for the first page
+     * @param limit The maximum number of chores in the page
+     * @return List<Chore> The chores of the page, ordered by id
      */
-    public void loadChores() {
-        this.chores = repository.load();
+    public List<Chore> loadChoresPage(Long afterId, int limit) {
+        List<Chore> page = repository.loadPage(afterId, limit);
+        return Objects.isNull(page) ? new ArrayList<>() : page;
+    }
+
+    /**
+     * Method to read the chores due in a range straight from the repository, without loading them
+     * into the service. A repository partitioned by deadline only reads the months in the range.
+     * @param from The first day of the range (inclusive)
+     * @param to The last day of the range (inclusive)
+     * @return List<Chore> The chores due in the range
+     * @throws InvalidDeadlineException When a date is missing or the range ends before it starts
+     */
+    public List<Chore> loadChoresDueBetween(LocalDate from, LocalDate to) {
+        if(Objects.isNull(from) || Objects.isNull(to) || from.isAfter(to)){
+            throw new InvalidDeadlineException("The range must have a start date on or before its end date");
+        }
+        List<Chore> chores = repository.loadDueBetween(from, to);
+        return Objects.isNull(chores) ? new ArrayList<>() : chores;
     }
 
     /**
@@ -190,7 +608,35 @@ public class ChoreService {
      *         FALSE, if the save fails
      */
     public Boolean saveChores(){
-        return repository.saveAll(this.chores);
+        // Copies the live list, so the repository gets a stable, indexable snapshot
+        return repository.saveAll(new ArrayList<>(this.state.chores()));
+    }
+
+    /**
+     * Method to save the chores without blocking the caller or the mutations. A background thread
+     * copies the chores (only mutations wait, and only for the copy) and writes the copy through
+     * {@link ChoreRepository#saveSnapshot(List)}, so a crash midway keeps the previous save.
+     * Calls made while a snapshot is still queued share it, as it copies the chores once it starts.
+     * @return CompletableFuture<Boolean> Completes with TRUE, if the save was completed and <br/>
+     *         FALSE, if the save fails
+     */
+    public CompletableFuture<Boolean> saveChoresInBackground(){
+        synchronized (snapshotLock) {
+            if (Objects.nonNull(queuedSnapshot)) {
+                return queuedSnapshot;
+            }
+            if (Objects.isNull(snapshotter)) {
+                snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "chore-snapshot");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            CompletableFuture<Boolean> snapshot = new CompletableFuture<>();
+            queuedSnapshot = snapshot;
+            snapshotter.execute(() -> writeSnapshot(snapshot));
+            return snapshot;
+        }
     }
 
     /**
@@ -205,12 +651,177 @@ public class ChoreService {
         return repository.update(chore);
     }
 
+    private void writeSnapshot(CompletableFuture<Boolean> snapshot){
+        synchronized (snapshotLock) {
+            // From here on the chores are copied, so later calls need a snapshot of their own
+            queuedSnapshot = null;
+        }
+        long start = System.nanoTime();
+        try {
+            List<Chore> chores = copyChores();
+            metrics.recordSince("service.snapshot.copy", start);
+            snapshot.complete(Objects.nonNull(chores) && repository.saveSnapshot(chores));
+        } catch (RuntimeException exception) {
+            metrics.increment("service.saveChoresInBackground.failures");
+            snapshot.completeExceptionally(exception);
+        } finally {
+            metrics.recordSince("service.saveChoresInBackground", start);
+        }
+    }
+
+    // Chores are mutable, so their fields are copied while every stripe is held; descriptions
+    // and deadlines are immutable and shared. The writes the repository still holds are flushed
+    // under the same stripes first, so every copy has the id its chore is stored under and isn't
+    // inserted again. Returns null if they can't be flushed
+    private List<Chore> copyChores(){
+        ChoreState state = this.state;
+        int[] stripes = locks.lockAll();
+        try {
+            if (!repository.flush()) {
+                return null;
+            }
+            Chore[] copies = new Chore[state.chores().size()];
+            int i = 0;
+            for (Chore chore : state.chores()) {
+                copies[i++] = new Chore(chore.getId(), chore.getDescription(), chore.getIsCompleted(), chore.getDeadline());
+            }
+            return List.of(copies);
+        } finally {
+            locks.unlock(stripes);
+        }
+    }
+
     private final Predicate<List<Chore>> isChoreListEmpty = choreList -> choreList.isEmpty();
 
-    private final BiPredicate<String, LocalDate> isChoreExist = (description, deadline) ->
-            this.chores.stream().anyMatch(choreFound ->
-                    choreFound.getDescription().equals(description) &&
-                    choreFound.getDeadline().equals(deadline));
+    /**
+     * Method to apply the changes of a sync to the published chores, keeping their indexes in step.
+     * Each chore is looked up by its id again under the stripes of the keys it changes, since an
+     * edit or delete may get in between the lookup and the locking. The deletes go first, as a
+     * changed chore may have taken the key of a deleted one, and a chore is only unindexed if it's
+     * the one under its key.
+     * @param state The chores to merge into
+     * @param changes The chores changed and the ids deleted since the last sync
+     */
+    private void merge(ChoreState state, ChoreChanges changes){
+        for (Long id : changes.deletedIds()) {
+            mergeDeleted(state, id);
+        }
+        for (Chore changed : changes.changed()) {
+            mergeChanged(state, changed);
+        }
+    }
+
+    private void mergeChanged(ChoreState state, Chore changed){
+        while (true) {
+            Chore chore = findIndexedChore(state, changed.getId());
+            ChoreKey key = Objects.isNull(chore) ? ChoreKey.of(changed) : ChoreKey.of(chore);
+            int[] stripes = locks.lock(key, ChoreKey.of(changed));
+            try {
+                if (!isStillIndexed(state, changed.getId(), chore, key)) {
+                    continue;
+                }
+                if (Objects.isNull(chore)) {
+                    state.chores().add(changed);
+                    state.index().add(changed);
+                    state.deadlineIndex().add(changed, state.chores().sequenceOf(changed));
+                    state.textIndex().add(changed, state.chores().sequenceOf(changed));
+                    state.idIndex().add(changed);
+                    return;
+                }
+                Long sequence = state.chores().sequenceOf(chore);
+                state.index().remove(chore);
+                if(Objects.nonNull(sequence)){
+                    state.deadlineIndex().remove(chore.getDeadline(), sequence);
+                    state.textIndex().remove(chore.getDescription(), sequence);
+                }
+                chore.setDescription(changed.getDescription());
+                chore.setDeadline(changed.getDeadline());
+                chore.setIsCompleted(changed.getIsCompleted());
+                state.index().add(chore);
+                if(Objects.nonNull(sequence)){
+                    state.deadlineIndex().add(chore, sequence);
+                    state.textIndex().add(chore, sequence);
+                }
+                return;
+            } finally {
+                locks.unlock(stripes);
+            }
+        }
+    }
+
+    private void mergeDeleted(ChoreState state, long id){
+        while (true) {
+            Chore chore = findIndexedChore(state, id);
+            if (Objects.isNull(chore)) {
+                return;
+            }
+            ChoreKey key = ChoreKey.of(chore);
+            int[] stripes = locks.lock(key);
+            try {
+                if (!isStillIndexed(state, id, chore, key)) {
+                    continue;
+                }
+                Long sequence = state.chores().sequenceOf(chore);
+                state.chores().remove(chore);
+                state.index().remove(chore);
+                if(Objects.nonNull(sequence)){
+                    state.deadlineIndex().remove(chore.getDeadline(), sequence);
+                    state.textIndex().remove(chore.getDescription(), sequence);
+                }
+                state.idIndex().remove(id);
+                return;
+            } finally {
+                locks.unlock(stripes);
+            }
+        }
+    }
+
+    // The chore found before locking is only trusted if the id still leads to it and its key is
+    // still the locked one; otherwise the lookup is retried under the new key
+    private boolean isStillIndexed(ChoreState state, long id, Chore chore, ChoreKey key){
+        return findIndexedChore(state, id) == chore
+                && (Objects.isNull(chore) || key.equals(ChoreKey.of(chore)));
+    }
+
+    private Chore getById(long id){
+        Chore chore = findById(id);
+        if(Objects.isNull(chore)){
+            throw new ChoreNotFoundException("There is no chore with the id " + id);
+        }
+        return chore;
+    }
+
+    // Chores whose insert the repository writes later (write-behind) only get their id then, so
+    // they are indexed by it here. It runs on the repository's flushing thread, which a writer
+    // holding every stripe may be waiting on, so no stripe is taken: a chore deleted meanwhile
+    // may still be indexed, and findIndexedChore drops it on its next lookup
+    private void indexAssignedId(Chore chore){
+        ChoreState state = this.state;
+        if (state.chores().contains(chore)) {
+            state.idIndex().add(chore);
+        }
+    }
+
+    private Chore findIndexedChore(ChoreState state, long id){
+        Chore chore = state.idIndex().find(id);
+        // Chores are shared with the callers, so one may have been given another id from outside
+        if(Objects.nonNull(chore) && (!state.chores().contains(chore) || !Objects.equals(chore.getId(), id))){
+            state.idIndex().remove(id);
+            return null;
+        }
+        return chore;
+    }
+
+    /**
+     * Method to find a chore through the index
+     * @param state The chores to look into
+     * @param description The chore's description
+     * @param deadline The chore's deadline
+     * @return The chore found or null, if it does not exist
+     */
+    private Chore findChore(ChoreState state, String description, LocalDate deadline){
+        return state.index().find(description, deadline);
+    }
 }
 
 
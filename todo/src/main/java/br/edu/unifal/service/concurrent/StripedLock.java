@@ -0,0 +1,61 @@
+package br.edu.unifal.service.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by keys through their hash, so operations on different keys
+ * rarely wait for each other without keeping one lock per key.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] locks;
+
+    public StripedLock(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("The number of stripes must be greater than zero");
+        }
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Method to lock the stripes of the given keys. Stripes are always taken in the same order,
+     * so two callers locking the same keys can't deadlock.
+     * @param keys The keys to be locked
+     * @return The stripes locked, to be given to {@link #unlock(int[])}
+     */
+    public int[] lock(Object... keys) {
+        int[] stripes = Arrays.stream(keys).mapToInt(this::stripe).distinct().sorted().toArray();
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        return stripes;
+    }
+
+    /**
+     * Method to lock every stripe, e.g. for an operation that touches any number of keys
+     * @return The stripes locked, to be given to {@link #unlock(int[])}
+     */
+    public int[] lockAll() {
+        int[] stripes = new int[locks.length];
+        for (int stripe = 0; stripe < locks.length; stripe++) {
+            locks[stripe].lock();
+            stripes[stripe] = stripe;
+        }
+        return stripes;
+    }
+
+    public void unlock(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+
+    private int stripe(Object key) {
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), locks.length);
+    }
+}
@@ -0,0 +1,83 @@
+package br.edu.unifal.service.index;
+
+import br.edu.unifal.domain.Chore;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hash index of chores by (description, deadline), kept alongside the chore list
+ * so that duplicate and existence checks don't need to scan the whole list.
+ * It's safe for concurrent use.
+ */
+public class ChoreIndex {
+
+    private final ConcurrentHashMap<ChoreKey, Chore> chores = new ConcurrentHashMap<>();
+
+    /**
+     * Method to index the chores that are missing or indexed under a stale key.
+     * Only for a list nothing else changes while it runs, like the one of a state not yet published:
+     * a chore removed from the list meanwhile could be indexed again.
+     * @param choreList The chores to be indexed
+     */
+    public void reindex(Collection<Chore> choreList){
+        if(Objects.isNull(choreList)){
+            return;
+        }
+        for(Chore chore : choreList){
+            ChoreKey key = ChoreKey.of(chore);
+            Chore indexed = chores.get(key);
+            if(Objects.isNull(indexed) || !key.equals(ChoreKey.of(indexed))){
+                chores.put(key, chore);
+            }
+        }
+    }
+
+    /**
+     * Method to index a chore under its current description and deadline
+     * @param chore The chore to be indexed
+     */
+    public void add(Chore chore){
+        chores.put(ChoreKey.of(chore), chore);
+    }
+
+    /**
+     * Method to remove a chore from the index
+     * @param description The description the chore was indexed with
+     * @param deadline The deadline the chore was indexed with
+     */
+    public void remove(String description, LocalDate deadline){
+        chores.remove(new ChoreKey(description, deadline));
+    }
+
+    /**
+     * Method to remove a chore from the index, only if it's the one indexed under its key
+     * @param chore The chore to be removed, with the description and deadline it was indexed with
+     */
+    public void remove(Chore chore){
+        chores.remove(ChoreKey.of(chore), chore);
+    }
+
+    /**
+     * Method to find a chore by its description and deadline
+     * @param description The description of the chore
+     * @param deadline The deadline of the chore
+     * @return The chore found or null, if there is no chore with the given key
+     */
+    public Chore find(String description, LocalDate deadline){
+        ChoreKey key = new ChoreKey(description, deadline);
+        Chore chore = chores.get(key);
+        // The chore may have been changed in place after being indexed
+        if(Objects.nonNull(chore) && !key.equals(ChoreKey.of(chore))){
+            chores.remove(key, chore);
+            return null;
+        }
+        return chore;
+    }
+
+    public boolean contains(String description, LocalDate deadline){
+        return Objects.nonNull(find(description, deadline));
+    }
+}
@@ -0,0 +1,17 @@
+package br.edu.unifal.service.index;
+
+import br.edu.unifal.domain.Chore;
+
+import java.time.LocalDate;
+
+/**
+ * Composite key that identifies a chore by its description and deadline
+ * @param description The description of the chore
+ * @param deadline The deadline of the chore
+ */
+public record ChoreKey(String description, LocalDate deadline) {
+
+    public static ChoreKey of(Chore chore){
+        return new ChoreKey(chore.getDescription(), chore.getDeadline());
+    }
+}
@@ -0,0 +1,157 @@
+package br.edu.unifal.service.index;
+
+import br.edu.unifal.domain.Chore;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe list of chores that keeps the insertion order.
+ * Each chore gets an increasing sequence number, so adding and removing a chore costs O(log n)
+ * and iterating never fails with a ConcurrentModificationException (it's weakly consistent).
+ * Positional access reads an array of the chores, built on the first {@link #get(int)} after the
+ * list changes: an indexed loop over an unchanged list costs O(n) overall, not O(n^2).
+ */
+public class ChoreList extends AbstractList<Chore> {
+
+    private final ConcurrentSkipListMap<Long, Chore> chores = new ConcurrentSkipListMap<>();
+
+    // Chore doesn't override equals/hashCode, so this map is keyed by identity
+    private final ConcurrentHashMap<Chore, Long> sequences = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * The chores in order, as of the given version of the list
+     */
+    private record Positions(long version, Chore[] chores) { }
+
+    // Bumped after every change, so positions built before it are stale
+    private final AtomicLong version = new AtomicLong();
+    private volatile Positions positions = new Positions(0L, new Chore[0]);
+
+    public ChoreList() {
+    }
+
+    public ChoreList(Collection<Chore> choreList) {
+        choreList.forEach(this::add);
+    }
+
+    /**
+     * Method to get the sequence number of a chore
+     * @param chore The chore
+     * @return The sequence number or null, if the chore isn't on the list
+     */
+    public Long sequenceOf(Chore chore) {
+        return sequences.get(chore);
+    }
+
+    @Override
+    public boolean add(Chore chore) {
+        long next = sequence.incrementAndGet();
+        if (sequences.putIfAbsent(chore, next) != null) {
+            return false;
+        }
+        chores.put(next, chore);
+        version.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object chore) {
+        Long removed = sequences.remove(chore);
+        if (removed == null) {
+            return false;
+        }
+        chores.remove(removed);
+        version.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public Chore remove(int index) {
+        Chore chore = get(index);
+        remove(chore);
+        return chore;
+    }
+
+    @Override
+    public Chore get(int index) {
+        Chore[] ordered = positions();
+        if (index < 0 || index >= ordered.length) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return ordered[index];
+    }
+
+    @Override
+    public int size() {
+        return sequences.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return sequences.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object chore) {
+        return sequences.containsKey(chore);
+    }
+
+    @Override
+    public void clear() {
+        sequences.clear();
+        chores.clear();
+        version.incrementAndGet();
+    }
+
+    // The version is read before the chores, so a change made while they are copied leaves the
+    // copy stale and the next call builds it again
+    private Chore[] positions() {
+        Positions current = positions;
+        long now = version.get();
+        if (current.version() != now) {
+            current = new Positions(now, chores.values().toArray(new Chore[0]));
+            positions = current;
+        }
+        return current.chores();
+    }
+
+    @Override
+    public Iterator<Chore> iterator() {
+        Iterator<Map.Entry<Long, Chore>> entries = chores.entrySet().iterator();
+        return new Iterator<>() {
+            private Chore last;
+
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public Chore next() {
+                if (!entries.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = entries.next().getValue();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                ChoreList.this.remove(last);
+                last = null;
+            }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package br.edu.unifal.service.index;
+
+import br.edu.unifal.domain.Chore;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Chores sorted by deadline (epoch day), so range and "due soon" queries
+ * only visit the days in the range instead of the whole chore list.
+ * Chores due on the same day are ordered by their sequence on the {@link ChoreList}.
+ * It's safe for concurrent use.
+ */
+public class DeadlineIndex {
+
+    record Entry(long day, long sequence) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            int byDay = Long.compare(day, other.day);
+            return byDay != 0 ? byDay : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final ConcurrentSkipListMap<Entry, Chore> chores = new ConcurrentSkipListMap<>();
+
+    /**
+     * Method to index the chores of the list that are missing from the index.
+     * Only for a list nothing else changes while it runs, like the one of a state not yet published:
+     * a chore removed from the list meanwhile could be indexed again.
+     * @param choreList The chores to be indexed
+     */
+    public void reindex(ChoreList choreList){
+        for(Chore chore : choreList){
+            Long sequence = choreList.sequenceOf(chore);
+            if(Objects.nonNull(sequence) && Objects.nonNull(chore.getDeadline())){
+                chores.putIfAbsent(new Entry(chore.getDeadline().toEpochDay(), sequence), chore);
+            }
+        }
+    }
+
+    /**
+     * Method to index a chore under its current deadline. Chores without a deadline are not indexed.
+     * @param chore The chore to be indexed
+     * @param sequence The sequence of the chore on the {@link ChoreList}
+     */
+    public void add(Chore chore, long sequence){
+        if(Objects.isNull(chore.getDeadline())){
+            return;
+        }
+        chores.put(new Entry(chore.getDeadline().toEpochDay(), sequence), chore);
+    }
+
+    /**
+     * Method to remove a chore from the index
+     * @param deadline The deadline the chore was indexed with
+     * @param sequence The sequence of the chore on the {@link ChoreList}
+     */
+    public void remove(LocalDate deadline, long sequence){
+        if(Objects.isNull(deadline)){
+            return;
+        }
+        chores.remove(new Entry(deadline.toEpochDay(), sequence));
+    }
+
+    /**
+     * Method to find the chores with a deadline inside the range
+     * @param from The first day of the range (inclusive)
+     * @param to The last day of the range (inclusive)
+     * @param filter Only the chores that pass it are returned
+     * @param limit The maximum number of chores returned
+     * @return List<Chore> The chores ordered by deadline
+     */
+    public List<Chore> findBetween(LocalDate from, LocalDate to, Predicate<Chore> filter, int limit){
+        return collect(chores.subMap(first(from), true, last(to), true), filter, limit);
+    }
+
+    /**
+     * Method to find the chores with a deadline on or after the given day
+     * @param from The first day (inclusive)
+     * @param filter Only the chores that pass it are returned
+     * @param limit The maximum number of chores returned
+     * @return List<Chore> The chores ordered by deadline
+     */
+    public List<Chore> findFrom(LocalDate from, Predicate<Chore> filter, int limit){
+        return collect(chores.tailMap(first(from), true), filter, limit);
+    }
+
+    /**
+     * Method to find the chores with a deadline before the given day
+     * @param before The first day that is not included
+     * @param filter Only the chores that pass it are returned
+     * @param limit The maximum number of chores returned
+     * @return List<Chore> The chores ordered by deadline
+     */
+    public List<Chore> findBefore(LocalDate before, Predicate<Chore> filter, int limit){
+        return collect(chores.headMap(first(before), false), filter, limit);
+    }
+
+    private List<Chore> collect(NavigableMap<Entry, Chore> range, Predicate<Chore> filter, int limit){
+        List<Chore> found = new ArrayList<>();
+        for(Map.Entry<Entry, Chore> entry : range.entrySet()){
+            if(found.size() >= limit){
+                break;
+            }
+            Chore chore = entry.getValue();
+            // Drops chores whose deadline was changed in place after being indexed
+            if(Objects.isNull(chore.getDeadline()) || chore.getDeadline().toEpochDay() != entry.getKey().day()){
+                chores.remove(entry.getKey(), chore);
+                continue;
+            }
+            if(filter.test(chore)){
+                found.add(chore);
+            }
+        }
+        return found;
+    }
+
+    private static Entry first(LocalDate day){
+        return new Entry(day.toEpochDay(), Long.MIN_VALUE);
+    }
+
+    private static Entry last(LocalDate day){
+        return new Entry(day.toEpochDay(), Long.MAX_VALUE);
+    }
+}
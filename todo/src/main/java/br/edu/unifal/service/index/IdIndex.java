@@ -0,0 +1,202 @@
+package br.edu.unifal.service.index;
+
+import br.edu.unifal.domain.Chore;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Index of chores by id, on an open-addressing hash table with linear probing over a primitive
+ * long[] of ids, so lookups neither box the id nor allocate an entry per chore.
+ * Lookups are optimistic reads that only lock when they race with a write. It's safe for concurrent use.
+ */
+public class IdIndex {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * The ids and the chores, swapped together when the table grows. A slot is empty when its chore is null.
+     */
+    private record Table(long[] ids, Chore[] chores) {
+
+        Table(int capacity) {
+            this(new long[capacity], new Chore[capacity]);
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private Table table = new Table(MIN_CAPACITY);
+    private int size;
+
+    /**
+     * Method to index the chores that have an id and are missing or indexed under a stale id.
+     * Only for a list nothing else changes while it runs, like the one of a state not yet published:
+     * a chore removed from the list meanwhile could be indexed again.
+     * @param choreList The chores to be indexed
+     */
+    public void reindex(Collection<Chore> choreList){
+        if(Objects.isNull(choreList)){
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            for(Chore chore : choreList){
+                if(Objects.nonNull(chore.getId())){
+                    put(chore.getId(), chore);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method to index a chore under its id. Chores without an id yet are skipped.
+     * @param chore The chore to be indexed
+     */
+    public void add(Chore chore){
+        if(Objects.isNull(chore.getId())){
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            put(chore.getId(), chore);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(long id){
+        long stamp = lock.writeLock();
+        try {
+            delete(id);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method to find a chore by its id
+     * @param id The id of the chore
+     * @return The chore found or null, if there is no chore with the given id
+     */
+    public Chore find(long id){
+        long stamp = lock.tryOptimisticRead();
+        Chore chore = find(table, id);
+        if(lock.validate(stamp)){
+            return chore;
+        }
+        stamp = lock.readLock();
+        try {
+            return find(table, id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size(){
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Probing is bounded by the table length, so a read racing with a write always ends
+    private static Chore find(Table table, long id){
+        int mask = table.ids().length - 1;
+        int slot = slotOf(id, mask);
+        for(int probes = 0; probes <= mask; probes++){
+            Chore chore = table.chores()[slot];
+            if(Objects.isNull(chore)){
+                return null;
+            }
+            if(table.ids()[slot] == id){
+                return chore;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private void put(long id, Chore chore){
+        // Kept at most half full, so probe sequences stay short
+        if((size + 1) * 2 > table.ids().length){
+            grow();
+        }
+        long[] ids = table.ids();
+        Chore[] chores = table.chores();
+        int mask = ids.length - 1;
+        int slot = slotOf(id, mask);
+        while(Objects.nonNull(chores[slot])){
+            if(ids[slot] == id){
+                chores[slot] = chore;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        ids[slot] = id;
+        chores[slot] = chore;
+        size++;
+    }
+
+    // Backward-shift deletion: the chores after the removed one are moved up, so no tombstones are left
+    private void delete(long id){
+        long[] ids = table.ids();
+        Chore[] chores = table.chores();
+        int mask = ids.length - 1;
+        int slot = slotOf(id, mask);
+        while(Objects.nonNull(chores[slot]) && ids[slot] != id){
+            slot = (slot + 1) & mask;
+        }
+        if(Objects.isNull(chores[slot])){
+            return;
+        }
+        chores[slot] = null;
+        size--;
+        int next = slot;
+        while(true){
+            next = (next + 1) & mask;
+            if(Objects.isNull(chores[next])){
+                return;
+            }
+            int home = slotOf(ids[next], mask);
+            // The chore at next can fill the hole only if its home slot isn't between the hole and next
+            boolean stays = slot <= next
+                    ? slot < home && home <= next
+                    : slot < home || home <= next;
+            if(!stays){
+                ids[slot] = ids[next];
+                chores[slot] = chores[next];
+                chores[next] = null;
+                slot = next;
+            }
+        }
+    }
+
+    private void grow(){
+        Table old = table;
+        Table grown = new Table(old.ids().length * 2);
+        int mask = grown.ids().length - 1;
+        for(int i = 0; i < old.ids().length; i++){
+            Chore chore = old.chores()[i];
+            if(Objects.nonNull(chore)){
+                int slot = slotOf(old.ids()[i], mask);
+                while(Objects.nonNull(grown.chores()[slot])){
+                    slot = (slot + 1) & mask;
+                }
+                grown.ids()[slot] = old.ids()[i];
+                grown.chores()[slot] = chore;
+            }
+        }
+        table = grown;
+    }
+
+    // Ids are mostly sequential, so they are mixed before being masked
+    private static int slotOf(long id, int mask){
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
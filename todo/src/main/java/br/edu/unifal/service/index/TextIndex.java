@@ -0,0 +1,218 @@
+package br.edu.unifal.service.index;
+
+import br.edu.unifal.domain.Chore;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index of the words of the chores' descriptions: each word maps to the chores whose
+ * description has it, ordered by their sequence on the {@link ChoreList}. Words are compared
+ * lowercase and without accents, so "Lavar" and "lavar" or "Ação" and "acao" are the same word.
+ * A query finds the chores that have, for every query word, a word starting with it (e.g.
+ * "lav lou" finds "Lavar a louça"), and only visits the chores of its most selective word.
+ * Writes are serialized, reads don't lock. It's safe for concurrent use.
+ */
+public class TextIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * The chores of a word by sequence, so they are already in list order. The size is kept
+     * apart, as counting a skip list means walking it.
+     */
+    private static final class Postings {
+
+        private final ConcurrentSkipListMap<Long, Chore> chores = new ConcurrentSkipListMap<>();
+        private volatile int size;
+    }
+
+    private final ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+
+    /**
+     * Method to index the chores of the list that are missing from the index.
+     * Only for a list nothing else changes while it runs, like the one of a state not yet published:
+     * a chore removed from the list meanwhile could be indexed again.
+     * @param choreList The chores to be indexed
+     */
+    public synchronized void reindex(ChoreList choreList){
+        for(Chore chore : choreList){
+            Long sequence = choreList.sequenceOf(chore);
+            if(Objects.nonNull(sequence)){
+                for(String word : tokenize(chore.getDescription())){
+                    Postings chores = postings.computeIfAbsent(word, key -> new Postings());
+                    if(Objects.isNull(chores.chores.putIfAbsent(sequence, chore))){
+                        chores.size++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to index a chore under the words of its current description
+     * @param chore The chore to be indexed
+     * @param sequence The sequence of the chore on the {@link ChoreList}
+     */
+    public synchronized void add(Chore chore, long sequence){
+        for(String word : tokenize(chore.getDescription())){
+            Postings chores = postings.computeIfAbsent(word, key -> new Postings());
+            if(Objects.isNull(chores.chores.put(sequence, chore))){
+                chores.size++;
+            }
+        }
+    }
+
+    /**
+     * Method to remove a chore from the index
+     * @param description The description the chore was indexed with
+     * @param sequence The sequence of the chore on the {@link ChoreList}
+     */
+    public synchronized void remove(String description, long sequence){
+        for(String word : tokenize(description)){
+            removePosting(word, sequence);
+        }
+    }
+
+    /**
+     * Method to find the chores whose description has, for every word of the query, a word starting with it
+     * @param query The words to look for, in any order
+     * @param limit The maximum number of chores returned
+     * @return List<Chore> The chores ordered by their sequence on the list, or an empty list if the query has no words
+     */
+    public List<Chore> search(String query, int limit){
+        Set<String> terms = tokenize(query);
+        List<Chore> found = new ArrayList<>();
+        if(terms.isEmpty() || limit <= 0){
+            return found;
+        }
+        // The term matched by the fewest chores drives the search, the others are checked on each of them
+        List<List<NavigableMap<Long, Chore>>> others = new ArrayList<>(terms.size());
+        int driver = 0;
+        long driverSize = Long.MAX_VALUE;
+        for(String term : terms){
+            List<NavigableMap<Long, Chore>> matched = new ArrayList<>();
+            long size = 0;
+            for(Postings chores : wordsStartingWith(term).values()){
+                matched.add(chores.chores);
+                size += chores.size;
+            }
+            others.add(matched);
+            if(size < driverSize){
+                driver = others.size() - 1;
+                driverSize = size;
+            }
+        }
+        Iterator<Map.Entry<Long, Chore>> candidates = merge(others.remove(driver));
+        long previous = Long.MIN_VALUE;
+        while(candidates.hasNext() && found.size() < limit){
+            Map.Entry<Long, Chore> candidate = candidates.next();
+            // The same chore shows up under each of its words that start with the driving term
+            if(candidate.getKey() == previous){
+                continue;
+            }
+            previous = candidate.getKey();
+            // The postings rule out most candidates without tokenizing them again; the description
+            // is still checked, to skip chores changed in place after being indexed
+            if(isIndexedUnderAll(candidate.getKey(), others) && matchesAll(candidate.getValue(), terms)){
+                found.add(candidate.getValue());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Method to split a text into its distinct words, lowercase and without accents
+     * @param text The text to be split
+     * @return Set<String> The words, in the order they first appear
+     */
+    public static Set<String> tokenize(String text){
+        Set<String> words = new LinkedHashSet<>();
+        if(Objects.isNull(text)){
+            return words;
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        for(String word : SEPARATORS.split(normalized)){
+            if(!word.isEmpty()){
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private NavigableMap<String, Postings> wordsStartingWith(String prefix){
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static boolean matchesAll(Chore chore, Set<String> terms){
+        Set<String> words = tokenize(chore.getDescription());
+        for(String term : terms){
+            if(words.stream().noneMatch(word -> word.startsWith(term))){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIndexedUnderAll(long sequence, List<List<NavigableMap<Long, Chore>>> terms){
+        for(List<NavigableMap<Long, Chore>> words : terms){
+            if(words.stream().noneMatch(chores -> chores.containsKey(sequence))){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removePosting(String word, long sequence){
+        Postings chores = postings.get(word);
+        if(Objects.isNull(chores) || Objects.isNull(chores.chores.remove(sequence))){
+            return;
+        }
+        if(--chores.size == 0){
+            postings.remove(word, chores);
+        }
+    }
+
+    // Walks the postings of every word at once, in sequence order
+    private static Iterator<Map.Entry<Long, Chore>> merge(List<NavigableMap<Long, Chore>> postings){
+        if(postings.size() == 1){
+            return postings.get(0).entrySet().iterator();
+        }
+        record Cursor(Map.Entry<Long, Chore> head, Iterator<Map.Entry<Long, Chore>> rest) { }
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>((left, right) -> Long.compare(left.head().getKey(), right.head().getKey()));
+        for(NavigableMap<Long, Chore> chores : postings){
+            Iterator<Map.Entry<Long, Chore>> iterator = chores.entrySet().iterator();
+            if(iterator.hasNext()){
+                cursors.add(new Cursor(iterator.next(), iterator));
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public Map.Entry<Long, Chore> next() {
+                Cursor cursor = cursors.poll();
+                if(cursor.rest().hasNext()){
+                    cursors.add(new Cursor(cursor.rest().next(), cursor.rest()));
+                }
+                return cursor.head();
+            }
+        };
+    }
+}
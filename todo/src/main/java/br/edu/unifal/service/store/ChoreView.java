@@ -0,0 +1,64 @@
+package br.edu.unifal.service.store;
+
+import br.edu.unifal.domain.Chore;
+
+import java.time.LocalDate;
+
+/**
+ * A chore that holds no data of its own: it reads and writes one row of a {@link ColumnarChoreStore}.
+ * It's created on demand and can be dropped right after use.
+ */
+public class ChoreView extends Chore {
+
+    private final ColumnarChoreStore store;
+    private final int row;
+
+    ChoreView(ColumnarChoreStore store, int row) {
+        this.store = store;
+        this.row = row;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    @Override
+    public Long getId() {
+        return store.getId(row);
+    }
+
+    @Override
+    public void setId(Long id) {
+        store.setId(row, id);
+    }
+
+    @Override
+    public String getDescription() {
+        return store.getDescription(row);
+    }
+
+    @Override
+    public void setDescription(String description) {
+        store.setDescription(row, description);
+    }
+
+    @Override
+    public Boolean getIsCompleted() {
+        return store.isCompleted(row);
+    }
+
+    @Override
+    public void setIsCompleted(Boolean isCompleted) {
+        store.setCompleted(row, Boolean.TRUE.equals(isCompleted));
+    }
+
+    @Override
+    public LocalDate getDeadline() {
+        return store.getDeadline(row);
+    }
+
+    @Override
+    public void setDeadline(LocalDate deadline) {
+        store.setDeadline(row, deadline);
+    }
+}
@@ -0,0 +1,182 @@
+package br.edu.unifal.service.store;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.enumerator.ChoreFilter;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compact, append-only store of chores laid out as columns (struct of arrays): ids in a long[],
+ * deadlines as epoch days in an int[], completion in a BitSet and descriptions dictionary-encoded
+ * in an int[]. A chore takes about 16 bytes plus its distinct description, instead of the several
+ * objects (and headers) of a {@link Chore}. Chores are only materialized as {@link ChoreView}s
+ * when asked for, and a view reads and writes its row in place.
+ * It's safe for concurrent use.
+ */
+public class ColumnarChoreStore extends AbstractList<Chore> {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int NO_DEADLINE = Integer.MIN_VALUE;
+
+    private static final int NO_DESCRIPTION = -1;
+
+    private long[] ids;
+    private final BitSet hasId = new BitSet();
+    private int[] deadlines;
+    private final BitSet completed = new BitSet();
+    private int[] descriptions;
+    private final DescriptionDictionary dictionary = new DescriptionDictionary();
+    private int size;
+
+    public ColumnarChoreStore(int expectedSize) {
+        int capacity = Math.max(expectedSize, 1);
+        ids = new long[capacity];
+        deadlines = new int[capacity];
+        descriptions = new int[capacity];
+    }
+
+    public ColumnarChoreStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public static ColumnarChoreStore of(Collection<Chore> chores) {
+        ColumnarChoreStore store = new ColumnarChoreStore(chores.size());
+        chores.forEach(store::add);
+        return store;
+    }
+
+    /**
+     * Method to copy a chore into a new row. The chore itself isn't kept.
+     * @param chore The chore to be added
+     * @return TRUE, always
+     */
+    @Override
+    public synchronized boolean add(Chore chore) {
+        if (size == ids.length) {
+            int capacity = size + (size >> 1) + 1;
+            ids = Arrays.copyOf(ids, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        int row = size++;
+        setId(row, chore.getId());
+        setDescription(row, chore.getDescription());
+        setCompleted(row, Boolean.TRUE.equals(chore.getIsCompleted()));
+        setDeadline(row, chore.getDeadline());
+        return true;
+    }
+
+    /**
+     * @return ChoreView A view of the chore at the row, created on each call
+     */
+    @Override
+    public synchronized ChoreView get(int row) {
+        checkRow(row);
+        return new ChoreView(this, row);
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return int The number of distinct descriptions, each stored only once
+     */
+    public synchronized int getDistinctDescriptions() {
+        return dictionary.size();
+    }
+
+    /**
+     * Method to filter the chores by reading only the completion column
+     * @param filter The condition to filter the chores
+     * @return List<Chore> Views of the chores that pass the filter
+     */
+    public synchronized List<Chore> filter(ChoreFilter filter) {
+        List<Chore> chores = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            if (filter == ChoreFilter.ALL || completed.get(row) == (filter == ChoreFilter.COMPLETED)) {
+                chores.add(new ChoreView(this, row));
+            }
+        }
+        return chores;
+    }
+
+    /**
+     * Method to find the chores with a deadline inside the range by reading only the deadline column
+     * @param from The first day of the range (inclusive)
+     * @param to The last day of the range (inclusive)
+     * @return List<Chore> Views of the chores, in row order
+     */
+    public synchronized List<Chore> findDueBetween(LocalDate from, LocalDate to) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        List<Chore> chores = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            int deadline = deadlines[row];
+            if (deadline != NO_DEADLINE && deadline >= first && deadline <= last) {
+                chores.add(new ChoreView(this, row));
+            }
+        }
+        return chores;
+    }
+
+    public synchronized int countCompleted() {
+        return completed.get(0, size).cardinality();
+    }
+
+    synchronized Long getId(int row) {
+        checkRow(row);
+        return hasId.get(row) ? ids[row] : null;
+    }
+
+    synchronized void setId(int row, Long id) {
+        checkRow(row);
+        hasId.set(row, Objects.nonNull(id));
+        ids[row] = Objects.isNull(id) ? 0L : id;
+    }
+
+    synchronized String getDescription(int row) {
+        checkRow(row);
+        return descriptions[row] == NO_DESCRIPTION ? null : dictionary.decode(descriptions[row]);
+    }
+
+    synchronized void setDescription(int row, String description) {
+        checkRow(row);
+        descriptions[row] = Objects.isNull(description) ? NO_DESCRIPTION : dictionary.encode(description);
+    }
+
+    synchronized boolean isCompleted(int row) {
+        checkRow(row);
+        return completed.get(row);
+    }
+
+    synchronized void setCompleted(int row, boolean isCompleted) {
+        checkRow(row);
+        completed.set(row, isCompleted);
+    }
+
+    synchronized LocalDate getDeadline(int row) {
+        checkRow(row);
+        return deadlines[row] == NO_DEADLINE ? null : LocalDate.ofEpochDay(deadlines[row]);
+    }
+
+    synchronized void setDeadline(int row, LocalDate deadline) {
+        checkRow(row);
+        deadlines[row] = Objects.isNull(deadline) ? NO_DEADLINE : Math.toIntExact(deadline.toEpochDay());
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + size + " chores");
+        }
+    }
+}
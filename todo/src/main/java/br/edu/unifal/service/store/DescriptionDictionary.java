@@ -0,0 +1,88 @@
+package br.edu.unifal.service.store;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Deduplicated descriptions, kept as UTF-8 bytes in a single array and referred to by code.
+ * Each distinct description is stored once and there is no String (or map entry) per description;
+ * the String is only built when a description is read.
+ * Not thread-safe: {@link ColumnarChoreStore} guards it.
+ */
+class DescriptionDictionary {
+
+    private byte[] bytes = new byte[4096];
+    private int length;
+
+    // starts[code] is where the description begins; it ends where the next one begins
+    private int[] starts = new int[257];
+    private int count;
+
+    // Open-addressing table of code + 1, 0 for an empty slot
+    private int[] table = new int[512];
+
+    int encode(String description) {
+        byte[] encoded = description.getBytes(StandardCharsets.UTF_8);
+        int mask = table.length - 1;
+        int slot = spread(Arrays.hashCode(encoded)) & mask;
+        while (table[slot] != 0) {
+            int code = table[slot] - 1;
+            if (Arrays.equals(bytes, starts[code], starts[code + 1], encoded, 0, encoded.length)) {
+                return code;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int code = append(encoded);
+        table[slot] = code + 1;
+        if (count * 2 > table.length) {
+            rehash();
+        }
+        return code;
+    }
+
+    String decode(int code) {
+        return new String(bytes, starts[code], starts[code + 1] - starts[code], StandardCharsets.UTF_8);
+    }
+
+    int size() {
+        return count;
+    }
+
+    private int append(byte[] encoded) {
+        if (length + encoded.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + encoded.length));
+        }
+        System.arraycopy(encoded, 0, bytes, length, encoded.length);
+        length += encoded.length;
+        if (count + 2 > starts.length) {
+            starts = Arrays.copyOf(starts, starts.length * 2);
+        }
+        starts[count + 1] = length;
+        return count++;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+        for (int code = 0; code < count; code++) {
+            int slot = spread(hashOf(code)) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = code + 1;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    // Same hash as Arrays.hashCode over the description's bytes
+    private int hashOf(int code) {
+        int hash = 1;
+        for (int i = starts[code]; i < starts[code + 1]; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,21 @@
+-- Change tracking used by MySQLChoreRepository.loadChangedSince.
+-- Run once on an existing database; the application keeps working without it,
+-- only the incremental sync needs it.
+
+ALTER TABLE db.chores
+    ADD COLUMN `updated_at` TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    ADD INDEX `idx_chores_updated_at` (`updated_at`);
+
+-- Deleted rows can't be found by updated_at, so each delete leaves a tombstone
+CREATE TABLE IF NOT EXISTS db.deleted_chores (
+    `id` BIGINT NOT NULL PRIMARY KEY,
+    `deleted_at` TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    INDEX `idx_deleted_chores_deleted_at` (`deleted_at`)
+);
+
+CREATE TRIGGER db.chores_after_delete AFTER DELETE ON db.chores
+    FOR EACH ROW
+    REPLACE INTO db.deleted_chores (`id`, `deleted_at`) VALUES (OLD.id, CURRENT_TIMESTAMP(6));
+
+-- Tombstones older than the slowest client's last sync can be pruned, e.g.
+-- DELETE FROM db.deleted_chores WHERE deleted_at < NOW() - INTERVAL 7 DAY;
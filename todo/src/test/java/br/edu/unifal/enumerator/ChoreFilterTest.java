@@ -0,0 +1,46 @@
+package br.edu.unifal.enumerator;
+
+import br.edu.unifal.domain.Chore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChoreFilterTest {
+
+    private final Chore completed = new Chore("Chore #01", Boolean.TRUE, LocalDate.now());
+    private final Chore uncompleted = new Chore("Chore #02", Boolean.FALSE, LocalDate.now());
+    private final Chore withoutStatus = new Chore("Chore #03", null, LocalDate.now());
+
+    @Test
+    @DisplayName("#matches > When the filter is ALL > Match every chore")
+    void matchesWhenTheFilterIsAllMatchEveryChore() {
+        assertAll(
+                () -> assertTrue(ChoreFilter.ALL.matches(completed)),
+                () -> assertTrue(ChoreFilter.ALL.matches(uncompleted)),
+                () -> assertTrue(ChoreFilter.ALL.matches(withoutStatus))
+        );
+    }
+
+    @Test
+    @DisplayName("#matches > When the filter is COMPLETED > Match only the completed chores")
+    void matchesWhenTheFilterIsCompletedMatchOnlyTheCompletedChores() {
+        assertAll(
+                () -> assertTrue(ChoreFilter.COMPLETED.matches(completed)),
+                () -> assertFalse(ChoreFilter.COMPLETED.matches(uncompleted)),
+                () -> assertFalse(ChoreFilter.COMPLETED.matches(withoutStatus))
+        );
+    }
+
+    @Test
+    @DisplayName("#matches > When the filter is UNCOMPLETED > Match the chores not completed, with or without a status")
+    void matchesWhenTheFilterIsUncompletedMatchTheChoresNotCompletedWithOrWithoutAStatus() {
+        assertAll(
+                () -> assertFalse(ChoreFilter.UNCOMPLETED.matches(completed)),
+                () -> assertTrue(ChoreFilter.UNCOMPLETED.matches(uncompleted)),
+                () -> assertTrue(ChoreFilter.UNCOMPLETED.matches(withoutStatus))
+        );
+    }
+}
@@ -0,0 +1,59 @@
+package br.edu.unifal.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsRegistryTest {
+
+    private MetricsRegistry metrics;
+
+    @BeforeEach
+    void setup() {
+        metrics = new MetricsRegistry();
+    }
+
+    @Test
+    @DisplayName("#getTimer > When nothing was recorded > Return null")
+    void getTimerWhenNothingWasRecordedReturnNull() {
+        assertNull(metrics.getTimer("repository.load"));
+        assertEquals(0L, metrics.getCounter("repository.rows.read"));
+    }
+
+    @Test
+    @DisplayName("#getTimer > When latencies were recorded > Return the percentiles within the bucket error")
+    void getTimerWhenLatenciesWereRecordedReturnThePercentilesWithinTheBucketError() {
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            metrics.record("repository.load", nanos * 1000);
+        }
+        LatencyHistogram.Snapshot timer = metrics.getTimer("repository.load");
+        assertAll(
+                () -> assertEquals(100_000, timer.count()),
+                () -> assertEquals(50_000_000.0, timer.p50(), 50_000_000 * 0.07),
+                () -> assertEquals(99_000_000.0, timer.p99(), 99_000_000 * 0.07),
+                () -> assertEquals(99_900_000.0, timer.p999(), 99_900_000 * 0.07),
+                () -> assertEquals(100_000_000L, timer.max())
+        );
+    }
+
+    @Test
+    @DisplayName("#dump > When there are counters and timers > Print each one")
+    void dumpWhenThereAreCountersAndTimersPrintEachOne() {
+        metrics.add("mysql.rows.read", 3);
+        metrics.record("mysql.query", 2_000);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        metrics.dump(new PrintStream(output, true));
+
+        String dump = output.toString();
+        assertAll(
+                () -> assertTrue(dump.contains("mysql.rows.read = 3")),
+                () -> assertTrue(dump.contains("mysql.query count=1"))
+        );
+    }
+}
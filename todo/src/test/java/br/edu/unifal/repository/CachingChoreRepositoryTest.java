@@ -0,0 +1,125 @@
+package br.edu.unifal.repository;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.repository.impl.CachingChoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingChoreRepositoryTest {
+
+    private CachingChoreRepository repository;
+
+    @Mock
+    private ChoreRepository delegate;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        repository = new CachingChoreRepository(delegate, 2);
+    }
+
+    @Test
+    @DisplayName("#findById > When the chore was loaded > Return it without reading the repository")
+    void findByIdWhenTheChoreWasLoadedReturnItWithoutReadingTheRepository() {
+        Mockito.when(delegate.load()).thenReturn(new ArrayList<>(List.of(chore(1L, "Chore #01"))));
+        repository.load();
+
+        Chore chore = repository.findById(1L);
+
+        assertAll(
+                () -> assertEquals(1L, chore.getId()),
+                () -> assertEquals("Chore #01", chore.getDescription())
+        );
+        Mockito.verify(delegate, Mockito.never()).findById(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("#load > When the load is bigger than the cache > Keep the cached chores")
+    void loadWhenTheLoadIsBiggerThanTheCacheKeepTheCachedChores() {
+        Mockito.when(delegate.findById(1L)).thenReturn(chore(1L, "Chore #01"));
+        Mockito.when(delegate.load()).thenReturn(new ArrayList<>(List.of(
+                chore(2L, "Chore #02"), chore(3L, "Chore #03"), chore(4L, "Chore #04"))));
+        Mockito.when(delegate.loadEach(Mockito.any())).thenAnswer(invocation -> {
+            Consumer<Chore> consumer = invocation.getArgument(0);
+            List.of(chore(2L, "Chore #02"), chore(3L, "Chore #03"), chore(4L, "Chore #04")).forEach(consumer);
+            return true;
+        });
+        repository.findById(1L);
+
+        assertEquals(3, repository.load().size());
+        assertTrue(repository.loadEach(chore -> { }));
+
+        assertAll(
+                () -> assertEquals(1, repository.size()),
+                () -> assertEquals("Chore #01", repository.findById(1L).getDescription())
+        );
+        Mockito.verify(delegate, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("#loadEach > When the chores fit in the cache > Cache them")
+    void loadEachWhenTheChoresFitInTheCacheCacheThem() {
+        Mockito.when(delegate.loadEach(Mockito.any())).thenAnswer(invocation -> {
+            Consumer<Chore> consumer = invocation.getArgument(0);
+            List.of(chore(1L, "Chore #01"), chore(2L, "Chore #02")).forEach(consumer);
+            return true;
+        });
+
+        assertTrue(repository.loadEach(chore -> chore.setDescription("Changed by the caller")));
+
+        assertEquals("Chore #01", repository.findById(1L).getDescription());
+        Mockito.verify(delegate, Mockito.never()).findById(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("#update > When the chore is cached > Read it again on the next lookup")
+    void updateWhenTheChoreIsCachedReadItAgainOnTheNextLookup() {
+        Mockito.when(delegate.findById(1L)).thenReturn(chore(1L, "Chore #01"), chore(1L, "Updated chore"));
+        Mockito.when(delegate.update(Mockito.any())).thenReturn(true);
+        repository.findById(1L);
+
+        repository.update(chore(1L, "Updated chore"));
+
+        assertEquals("Updated chore", repository.findById(1L).getDescription());
+        Mockito.verify(delegate, Mockito.times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("#findById > When the cache is full > Evict the least recently used chore")
+    void findByIdWhenTheCacheIsFullEvictTheLeastRecentlyUsedChore() {
+        for (long id = 1; id <= 3; id++) {
+            Mockito.when(delegate.findById(id)).thenReturn(chore(id, "Chore #0" + id));
+        }
+        repository.findById(1L);
+        repository.findById(2L);
+        repository.findById(1L);
+        repository.findById(3L);
+
+        repository.findById(1L);
+        repository.findById(2L);
+
+        assertEquals(2, repository.size());
+        Mockito.verify(delegate, Mockito.times(1)).findById(1L);
+        Mockito.verify(delegate, Mockito.times(2)).findById(2L);
+    }
+
+    private Chore chore(Long id, String description) {
+        return Chore.builder()
+                .id(id)
+                .description(description)
+                .isCompleted(Boolean.FALSE)
+                .deadline(LocalDate.now())
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package br.edu.unifal.repository;
+
+import br.edu.unifal.repository.pool.ConnectionPool;
+import br.edu.unifal.repository.pool.ConnectionPoolConfig;
+import br.edu.unifal.repository.pool.PooledConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolTest {
+
+    // Kept open while the pool is, so every connection sees the same in-memory database
+    private static final String URL = "jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1";
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("#acquire > When every connection is in use > Throw an Exception after the acquire timeout")
+    void acquireWhenEveryConnectionIsInUseThrowAnExceptionAfterTheAcquireTimeout() throws SQLException {
+        pool = new ConnectionPool(config().maxSize(1).acquireTimeout(Duration.ofMillis(100)).build());
+
+        PooledConnection borrowed = pool.acquire();
+        assertThrows(SQLException.class, () -> pool.acquire());
+
+        borrowed.close();
+        try (PooledConnection again = pool.acquire()) {
+            assertSame(borrowed, again);
+        }
+    }
+
+    @Test
+    @DisplayName("#acquire > When an idle connection went stale > Discard it and open a new one")
+    void acquireWhenAnIdleConnectionWentStaleDiscardItAndOpenANewOne() throws SQLException {
+        pool = new ConnectionPool(config().validationInterval(Duration.ZERO).build());
+
+        PooledConnection borrowed = pool.acquire();
+        Connection stale = borrowed.getConnection();
+        borrowed.close();
+        // Dies while idle, e.g. closed by the server
+        stale.close();
+
+        try (PooledConnection fresh = pool.acquire()) {
+            assertAll(
+                    () -> assertNotSame(stale, fresh.getConnection()),
+                    () -> assertTrue(fresh.getConnection().isValid(1)),
+                    () -> assertEquals(1, pool.getOpenConnections())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("#maintain > When connections stay idle past the idle timeout > Close them down to the minimum size")
+    void maintainWhenConnectionsStayIdlePastTheIdleTimeoutCloseThemDownToTheMinimumSize() throws Exception {
+        pool = new ConnectionPool(config().minSize(1).maxSize(3)
+                .idleTimeout(Duration.ofMillis(1)).evictionInterval(Duration.ofMillis(20)).build());
+
+        PooledConnection first = pool.acquire();
+        PooledConnection second = pool.acquire();
+        PooledConnection third = pool.acquire();
+        assertEquals(3, pool.getOpenConnections());
+        first.close();
+        second.close();
+        third.close();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (pool.getOpenConnections() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertAll(
+                () -> assertEquals(1, pool.getOpenConnections()),
+                () -> assertEquals(1, pool.getIdleConnections())
+        );
+    }
+
+    @Test
+    @DisplayName("#prepareStatement > When the statement cache is full > Close the least recently used statement")
+    void prepareStatementWhenTheStatementCacheIsFullCloseTheLeastRecentlyUsedStatement() throws SQLException {
+        pool = new ConnectionPool(config().statementCacheSize(2).build());
+
+        try (PooledConnection connection = pool.acquire()) {
+            PreparedStatement first = connection.prepareStatement("SELECT 1");
+            PreparedStatement second = connection.prepareStatement("SELECT 2");
+            assertSame(first, connection.prepareStatement("SELECT 1"));
+
+            PreparedStatement third = connection.prepareStatement("SELECT 3");
+
+            assertAll(
+                    () -> assertTrue(second.isClosed()),
+                    () -> assertFalse(first.isClosed()),
+                    () -> assertFalse(third.isClosed()),
+                    () -> assertNotSame(second, connection.prepareStatement("SELECT 2"))
+            );
+        }
+    }
+
+    // No connections are opened up front, and the evictor only runs when a test asks for it
+    private static ConnectionPoolConfig.ConnectionPoolConfigBuilder config() {
+        return ConnectionPoolConfig.builder()
+                .url(URL)
+                .minSize(0)
+                .maxSize(2)
+                .evictionInterval(Duration.ofHours(1));
+    }
+}
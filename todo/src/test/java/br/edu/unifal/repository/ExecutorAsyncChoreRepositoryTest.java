@@ -0,0 +1,59 @@
+package br.edu.unifal.repository;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.repository.impl.ExecutorAsyncChoreRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutorAsyncChoreRepositoryTest {
+
+    private ExecutorAsyncChoreRepository repository;
+
+    @Mock
+    private ChoreRepository delegate;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        repository = new ExecutorAsyncChoreRepository(delegate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("#save > When many chores are saved at once > Complete every future with the result of the save")
+    void saveWhenManyChoresAreSavedAtOnceCompleteEveryFutureWithTheResultOfTheSave() {
+        Mockito.when(delegate.save(Mockito.any())).thenReturn(true);
+        List<CompletableFuture<Boolean>> saves = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            saves.add(repository.save(new Chore("Chore #" + i, Boolean.FALSE, LocalDate.now())));
+        }
+
+        CompletableFuture.allOf(saves.toArray(new CompletableFuture<?>[0])).join();
+
+        assertTrue(saves.stream().allMatch(CompletableFuture::join));
+        Mockito.verify(delegate, Mockito.times(1000)).save(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("#load > When the load fails > Complete the future with null")
+    void loadWhenTheLoadFailsCompleteTheFutureWithNull() {
+        Mockito.when(delegate.load()).thenReturn(null);
+        assertNull(repository.load().join());
+    }
+}
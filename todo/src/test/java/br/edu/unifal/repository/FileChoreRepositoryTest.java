@@ -1,12 +1,16 @@
 package br.edu.unifal.repository;
 
 import br.edu.unifal.domain.Chore;
+import br.edu.unifal.enumerator.ChoreFilter;
+import br.edu.unifal.enumerator.FileFormat;
 import br.edu.unifal.repository.impl.FileChoreRepository;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -15,11 +19,15 @@ import org.mockito.MockitoAnnotations;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class FileChoreRepositoryTest {
 
@@ -75,6 +83,122 @@ public class FileChoreRepositoryTest {
 
     }
 
+    @Test
+    @DisplayName("#load > When the file is a compressed snapshot > Return the chores written")
+    void loadWhenTheFileIsACompressedSnapshotReturnTheChoresWritten(@TempDir Path directory) {
+        String path = directory.resolve("chores.json.gz").toString();
+        List<Chore> chores = List.of(
+                new Chore("First Chore", Boolean.FALSE, LocalDate.now()),
+                new Chore("Second Chore", Boolean.TRUE, LocalDate.now().minusDays(5))
+        );
+        assertTrue(FileChoreRepository.of(path, true).saveAll(chores));
+
+        // Written compressed, read by a repository that writes plain JSON
+        List<Chore> response = FileChoreRepository.of(path).load();
+        assertAll(
+                () -> assertEquals(2, response.size()),
+                () -> assertEquals("First Chore", response.get(0).getDescription()),
+                () -> assertEquals(LocalDate.now().minusDays(5), response.get(1).getDeadline())
+        );
+    }
+
+    @Test
+    @DisplayName("#load > When the file is newline-delimited > Return the chores in file order")
+    void loadWhenTheFileIsNewlineDelimitedReturnTheChoresInFileOrder(@TempDir Path directory) {
+        String path = directory.resolve("chores.ndjson").toString();
+        List<Chore> chores = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            chores.add(new Chore(id, "Chore\n#" + id, id % 2 == 0, LocalDate.now().plusDays(id)));
+        }
+        assertTrue(FileChoreRepository.of(path, FileFormat.NDJSON, false).saveAll(chores));
+
+        List<Chore> response = FileChoreRepository.of(path).load();
+        assertAll(
+                () -> assertEquals(100, response.size()),
+                () -> assertEquals(1L, response.get(0).getId()),
+                () -> assertEquals("Chore\n#100", response.get(99).getDescription()),
+                () -> assertEquals(LocalDate.now().plusDays(100), response.get(99).getDeadline())
+        );
+    }
+
+    @Test
+    @DisplayName("#loadEach > When the file is not found (or path is invalid) > Return false")
+    void loadEachWhenTheFileIsNotFoundOrPathIsInvalidReturnFalse() throws IOException {
+        JsonFactory factory = Mockito.mock(JsonFactory.class);
+        Mockito.when(mapper.getFactory()).thenReturn(factory);
+        Mockito.when(factory.createParser(new File("chores.json"))).thenThrow(FileNotFoundException.class);
+
+        List<Chore> chores = new ArrayList<>();
+        assertFalse(repository.loadEach(chores::add));
+        assertTrue(chores.isEmpty());
+    }
+
+    @Test
+    @DisplayName("#loadEach > When the file is written as Smile > Stream the chores written")
+    void loadEachWhenTheFileIsWrittenAsSmileStreamTheChoresWritten(@TempDir Path directory) {
+        String path = directory.resolve("chores.smile").toString();
+        List<Chore> chores = List.of(
+                new Chore("First Chore", Boolean.FALSE, LocalDate.now()),
+                new Chore("Second Chore", Boolean.TRUE, LocalDate.now().minusDays(5))
+        );
+        assertTrue(FileChoreRepository.of(path, FileFormat.SMILE, false).saveAll(chores));
+
+        List<Chore> response = new ArrayList<>();
+        assertTrue(FileChoreRepository.of(path).loadEach(response::add));
+        assertAll(
+                () -> assertEquals(2, response.size()),
+                () -> assertEquals("Second Chore", response.get(1).getDescription()),
+                () -> assertEquals(LocalDate.now().minusDays(5), response.get(1).getDeadline())
+        );
+    }
+
+    @Test
+    @DisplayName("#loadFiltered > When the filter is COMPLETED > Return only the completed chores")
+    void loadFilteredWhenTheFilterIsCompletedReturnOnlyTheCompletedChores(@TempDir Path directory) {
+        String path = directory.resolve("chores.json").toString();
+        List<Chore> chores = List.of(
+                new Chore("First Chore", Boolean.FALSE, LocalDate.now()),
+                new Chore("Second Chore", Boolean.TRUE, LocalDate.now().minusDays(5)),
+                new Chore("Third Chore", Boolean.TRUE, LocalDate.now())
+        );
+        assertTrue(FileChoreRepository.of(path).saveAll(chores));
+
+        List<Chore> completed = FileChoreRepository.of(path).loadFiltered(ChoreFilter.COMPLETED);
+        List<Chore> uncompleted = FileChoreRepository.of(path).loadFiltered(ChoreFilter.UNCOMPLETED);
+        assertAll(
+                () -> assertEquals(List.of("Second Chore", "Third Chore"), completed.stream().map(Chore::getDescription).toList()),
+                () -> assertEquals(List.of("First Chore"), uncompleted.stream().map(Chore::getDescription).toList()),
+                () -> assertEquals(3, FileChoreRepository.of(path).loadFiltered(ChoreFilter.ALL).size())
+        );
+    }
+
+    @Test
+    @DisplayName("#saveSnapshot > When the file is replaced > Keep the permissions of a direct write")
+    void saveSnapshotWhenTheFileIsReplacedKeepThePermissionsOfADirectWrite(@TempDir Path directory) throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path written = directory.resolve("written.json");
+        Path snapshot = directory.resolve("snapshot.json");
+        List<Chore> chores = List.of(new Chore("First Chore", Boolean.FALSE, LocalDate.now()));
+        assertTrue(FileChoreRepository.of(written.toString()).saveAll(chores));
+
+        assertTrue(FileChoreRepository.of(snapshot.toString()).saveSnapshot(chores));
+
+        assertAll(
+                () -> assertEquals(Files.getPosixFilePermissions(written), Files.getPosixFilePermissions(snapshot)),
+                () -> assertFalse(Files.exists(directory.resolve("snapshot.json.tmp")))
+        );
+    }
+
+    @Test
+    @DisplayName("#loadFiltered > When the file is not found (or path is invalid) > Return null")
+    void loadFilteredWhenTheFileIsNotFoundOrPathIsInvalidReturnNull() throws IOException {
+        JsonFactory factory = Mockito.mock(JsonFactory.class);
+        Mockito.when(mapper.getFactory()).thenReturn(factory);
+        Mockito.when(factory.createParser(new File("chores.json"))).thenThrow(FileNotFoundException.class);
+
+        assertNull(repository.loadFiltered(ChoreFilter.UNCOMPLETED));
+    }
+
     @Test
     @DisplayName("#save > When unable to write the chores on the file > Return false")
     void saveWhenUnableToWriteTheChoresOnTheFileReturnFalse() throws IOException {
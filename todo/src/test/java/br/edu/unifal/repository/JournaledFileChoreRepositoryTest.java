@@ -0,0 +1,162 @@
+package br.edu.unifal.repository;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.repository.impl.JournaledFileChoreRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournaledFileChoreRepositoryTest {
+
+    @TempDir
+    private Path directory;
+
+    private final List<JournaledFileChoreRepository> repositories = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        repositories.forEach(JournaledFileChoreRepository::close);
+    }
+
+    @Test
+    @DisplayName("#load > When the journal has adds, updates and deletes > Replay them in order on top of the snapshot")
+    void loadWhenTheJournalHasAddsUpdatesAndDeletesReplayThemInOrderOnTopOfTheSnapshot() throws IOException {
+        JournaledFileChoreRepository repository = open("chores.journal");
+        Chore first = new Chore("Chore #01", Boolean.FALSE, LocalDate.now());
+        Chore second = new Chore("Chore #02", Boolean.FALSE, LocalDate.now());
+        assertTrue(repository.saveAll(new ArrayList<>(List.of(first, second))));
+
+        Chore third = new Chore("Chore #03", Boolean.FALSE, LocalDate.now());
+        repository.save(third);
+        first.setIsCompleted(Boolean.TRUE);
+        repository.update(first);
+        repository.delete(second);
+        third.setDescription("Chore #03 (edited)");
+        repository.update(third);
+        repository.close();
+        // A crash while appending leaves a torn last record
+        Files.writeString(directory.resolve("chores.journal"), "{\"operation\":\"ADD\",\"chore\":{\"id\":9",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        List<Chore> chores = open("chores.journal").load();
+
+        assertAll(
+                () -> assertEquals(2, chores.size()),
+                () -> assertEquals("Chore #01", chores.get(0).getDescription()),
+                () -> assertTrue(chores.get(0).getIsCompleted()),
+                () -> assertEquals("Chore #03 (edited)", chores.get(1).getDescription()),
+                () -> assertEquals(3L, chores.get(1).getId())
+        );
+    }
+
+    @Test
+    @DisplayName("#compact > When chores are appended while compacting > Keep every chore")
+    void compactWhenChoresAreAppendedWhileCompactingKeepEveryChore() throws Exception {
+        JournaledFileChoreRepository repository = open("chores.journal");
+        AtomicBoolean appending = new AtomicBoolean(true);
+        ExecutorService compactor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> compactions = compactor.submit(() -> {
+                while (appending.get()) {
+                    repository.compact();
+                }
+            });
+            for (int i = 1; i <= 200; i++) {
+                assertTrue(repository.save(new Chore("Chore #" + i, Boolean.FALSE, LocalDate.now())));
+            }
+            appending.set(false);
+            compactions.get();
+        } finally {
+            compactor.shutdownNow();
+        }
+        repository.close();
+
+        List<Chore> chores = open("chores.journal").load();
+
+        assertAll(
+                () -> assertEquals(200, chores.size()),
+                () -> assertEquals(200, chores.stream().map(Chore::getId).distinct().count()),
+                () -> assertEquals("Chore #200", chores.get(199).getDescription())
+        );
+    }
+
+    @Test
+    @DisplayName("#compact > When a previous compaction left a .compacting file > Fold it into the snapshot")
+    void compactWhenAPreviousCompactionLeftACompactingFileFoldItIntoTheSnapshot() throws IOException {
+        JournaledFileChoreRepository repository = open("chores.journal");
+        repository.saveAll(new ArrayList<>(List.of(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()))));
+        repository.save(new Chore("Chore #02", Boolean.FALSE, LocalDate.now()));
+        repository.close();
+        // A crash between the rotation and the new snapshot
+        Files.move(directory.resolve("chores.journal"), directory.resolve("chores.journal.compacting"));
+
+        JournaledFileChoreRepository recovered = open("chores.journal");
+        recovered.save(new Chore("Chore #03", Boolean.FALSE, LocalDate.now()));
+        assertEquals(3, recovered.load().size());
+
+        recovered.compact();
+
+        assertAll(
+                () -> assertFalse(new File(directory.toFile(), "chores.journal.compacting").exists()),
+                () -> assertEquals(List.of("Chore #01", "Chore #02", "Chore #03"),
+                        open("chores.journal").load().stream().map(Chore::getDescription).toList())
+        );
+    }
+
+    @Test
+    @DisplayName("#saveAll > When two repositories have different journals > Keep a snapshot for each one")
+    void saveAllWhenTwoRepositoriesHaveDifferentJournalsKeepASnapshotForEachOne() {
+        open("home.journal").saveAll(new ArrayList<>(List.of(new Chore("Home chore", Boolean.FALSE, LocalDate.now()))));
+        open("work.journal").saveAll(new ArrayList<>(List.of(new Chore("Work chore", Boolean.FALSE, LocalDate.now()))));
+
+        assertAll(
+                () -> assertTrue(new File(directory.toFile(), "home.json").exists()),
+                () -> assertEquals("Home chore", open("home.journal").load().get(0).getDescription()),
+                () -> assertEquals("Work chore", open("work.journal").load().get(0).getDescription())
+        );
+    }
+
+    // Compaction only runs when a test asks for it
+    @Test
+    @DisplayName("#compact > When the snapshot is corrupt > Fail the load and keep the snapshot and the journal")
+    void compactWhenTheSnapshotIsCorruptFailTheLoadAndKeepTheSnapshotAndTheJournal() throws IOException {
+        Path snapshot = directory.resolve("chores.json");
+        String truncated = "[{\"id\":1,\"description\":\"Chore #01\",\"isCompl";
+        Files.writeString(snapshot, truncated, StandardCharsets.UTF_8);
+        JournaledFileChoreRepository repository = open("chores.journal");
+        assertTrue(repository.update(new Chore(1L, "Chore #01", Boolean.TRUE, LocalDate.now())));
+
+        repository.compact();
+
+        assertAll(
+                () -> assertNull(repository.load()),
+                () -> assertFalse(repository.save(new Chore("Chore #02", Boolean.FALSE, LocalDate.now()))),
+                () -> assertEquals(truncated, Files.readString(snapshot, StandardCharsets.UTF_8)),
+                () -> assertTrue(new File(directory.toFile(), "chores.journal.compacting").exists())
+        );
+    }
+
+    private JournaledFileChoreRepository open(String journal) {
+        JournaledFileChoreRepository repository = new JournaledFileChoreRepository(
+                directory.resolve(journal).toString(), Integer.MAX_VALUE, 3600);
+        repositories.add(repository);
+        return repository;
+    }
+}
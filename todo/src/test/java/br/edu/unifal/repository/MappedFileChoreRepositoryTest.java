@@ -0,0 +1,198 @@
+package br.edu.unifal.repository;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.repository.impl.MappedFileChoreRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedFileChoreRepositoryTest {
+
+    @TempDir
+    private Path directory;
+
+    private String path;
+
+    private final List<MappedFileChoreRepository> repositories = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        path = directory.resolve("chores.bin").toString();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repositories.forEach(MappedFileChoreRepository::close);
+    }
+
+    @Test
+    @DisplayName("#saveAll > When the chores are saved > Load them back with their ids")
+    void saveAllWhenTheChoresAreSavedLoadThemBackWithTheirIds() {
+        MappedFileChoreRepository repository = open();
+        List<Chore> chores = new ArrayList<>(List.of(
+                new Chore("Lavar a louça", Boolean.FALSE, LocalDate.now()),
+                new Chore(7L, "Chore #02", Boolean.TRUE, null),
+                new Chore(null, Boolean.FALSE, LocalDate.now().plusDays(1))));
+
+        assertTrue(repository.saveAll(chores));
+        List<Chore> loaded = repository.load();
+
+        assertAll(
+                () -> assertEquals(3, loaded.size()),
+                () -> assertEquals(8L, chores.get(0).getId()),
+                () -> assertEquals("Lavar a louça", loaded.get(0).getDescription()),
+                () -> assertEquals(LocalDate.now(), loaded.get(0).getDeadline()),
+                () -> assertTrue(loaded.get(1).getIsCompleted()),
+                () -> assertNull(loaded.get(1).getDeadline()),
+                () -> assertNull(loaded.get(2).getDescription()),
+                () -> assertEquals(9L, loaded.get(2).getId())
+        );
+    }
+
+    @Test
+    @DisplayName("#update > When the description and status change > Update the record in place")
+    void updateWhenTheDescriptionAndStatusChangeUpdateTheRecordInPlace() {
+        MappedFileChoreRepository repository = open();
+        Chore chore = new Chore("Chore #01", Boolean.FALSE, LocalDate.now());
+        repository.save(chore);
+        repository.save(new Chore("Chore #02", Boolean.FALSE, LocalDate.now()));
+
+        chore.setDescription("Chore #01 (edited)");
+        chore.setDeadline(LocalDate.now().plusDays(3));
+        assertTrue(repository.update(chore));
+        chore.setIsCompleted(Boolean.TRUE);
+        assertTrue(repository.update(chore));
+
+        List<Chore> loaded = repository.load();
+        assertAll(
+                () -> assertEquals(2, loaded.size()),
+                () -> assertEquals(chore.getId(), loaded.get(0).getId()),
+                () -> assertEquals("Chore #01 (edited)", loaded.get(0).getDescription()),
+                () -> assertEquals(LocalDate.now().plusDays(3), loaded.get(0).getDeadline()),
+                () -> assertTrue(loaded.get(0).getIsCompleted()),
+                () -> assertFalse(repository.update(new Chore(99L, "Missing", Boolean.FALSE, LocalDate.now())))
+        );
+    }
+
+    @Test
+    @DisplayName("#delete > When the chore exists > Skip it on load and refuse to delete it twice")
+    void deleteWhenTheChoreExistsSkipItOnLoadAndRefuseToDeleteItTwice() {
+        MappedFileChoreRepository repository = open();
+        Chore chore = new Chore("Chore #01", Boolean.FALSE, LocalDate.now());
+        repository.save(chore);
+        repository.save(new Chore("Chore #02", Boolean.FALSE, LocalDate.now()));
+
+        assertTrue(repository.delete(chore));
+
+        assertAll(
+                () -> assertFalse(repository.delete(chore)),
+                () -> assertFalse(repository.update(chore)),
+                () -> assertEquals(List.of("Chore #02"), repository.load().stream().map(Chore::getDescription).toList())
+        );
+    }
+
+    @Test
+    @DisplayName("#save > When the store outgrows its mapping > Remap the files and keep every chore")
+    void saveWhenTheStoreOutgrowsItsMappingRemapTheFilesAndKeepEveryChore() {
+        MappedFileChoreRepository repository = open();
+        // Past the initial 1024 records and the initial 64 KiB of descriptions
+        String padding = "x".repeat(100);
+        for (int i = 0; i < 3000; i++) {
+            assertTrue(repository.save(new Chore("Chore #" + i + padding, Boolean.FALSE, LocalDate.now())));
+        }
+        repository.close();
+
+        List<Chore> loaded = open().load();
+
+        assertAll(
+                () -> assertEquals(3000, loaded.size()),
+                () -> assertEquals("Chore #2999" + padding, loaded.get(2999).getDescription()),
+                () -> assertEquals(3000L, loaded.get(2999).getId())
+        );
+    }
+
+    @Test
+    @DisplayName("#load > When the store is reopened > Keep the chores and the id sequence")
+    void loadWhenTheStoreIsReopenedKeepTheChoresAndTheIdSequence() {
+        MappedFileChoreRepository repository = open();
+        repository.save(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()));
+        repository.save(new Chore("Chore #02", Boolean.TRUE, LocalDate.now()));
+        repository.close();
+
+        MappedFileChoreRepository reopened = open();
+        Chore chore = new Chore("Chore #03", Boolean.FALSE, LocalDate.now());
+        reopened.save(chore);
+
+        assertAll(
+                () -> assertEquals(3L, chore.getId()),
+                () -> assertEquals(3, reopened.load().size()),
+                () -> assertTrue(reopened.load().get(1).getIsCompleted())
+        );
+    }
+
+    @Test
+    @DisplayName("#saveAll > When the store has stale descriptions and deleted chores > Write a compact store beside it")
+    void saveAllWhenTheStoreHasStaleDescriptionsAndDeletedChoresWriteACompactStoreBesideIt() throws IOException {
+        MappedFileChoreRepository repository = open();
+        List<Chore> chores = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Chore chore = new Chore("Chore #" + i + "x".repeat(50), Boolean.FALSE, LocalDate.now());
+            repository.save(chore);
+            chores.add(chore);
+        }
+        for (Chore chore : chores.subList(1, chores.size())) {
+            repository.delete(chore);
+        }
+        chores.get(0).setDescription("Kept");
+        repository.update(chores.get(0));
+        repository.close();
+        long grownSize = Files.size(Path.of(path)) + Files.size(Path.of(path + ".heap"));
+
+        MappedFileChoreRepository compacted = open();
+        assertTrue(compacted.saveAll(compacted.load()));
+
+        assertAll(
+                () -> assertFalse(new File(path + ".heap").exists()),
+                () -> assertFalse(new File(path + ".tmp").exists()),
+                () -> assertTrue(Files.size(Path.of(path)) + Files.size(Path.of(path + ".heap.1")) < grownSize),
+                () -> assertEquals(List.of("Kept"), open().load().stream().map(Chore::getDescription).toList())
+        );
+    }
+
+    @Test
+    @DisplayName("#load > When a saveAll crashed before renaming its files > Keep the previous chores")
+    void loadWhenASaveAllCrashedBeforeRenamingItsFilesKeepThePreviousChores() throws IOException {
+        MappedFileChoreRepository repository = open();
+        repository.saveAll(new ArrayList<>(List.of(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()))));
+        repository.close();
+        // What a crash midway through the next saveAll leaves beside the store
+        Files.write(Path.of(path + ".tmp"), new byte[64]);
+        Files.write(Path.of(path + ".heap.2"), new byte[64]);
+
+        List<Chore> loaded = open().load();
+
+        assertAll(
+                () -> assertEquals(List.of("Chore #01"), loaded.stream().map(Chore::getDescription).toList()),
+                () -> assertFalse(new File(path + ".tmp").exists()),
+                () -> assertFalse(new File(path + ".heap.2").exists())
+        );
+    }
+
+    private MappedFileChoreRepository open() {
+        MappedFileChoreRepository repository = new MappedFileChoreRepository(path);
+        repositories.add(repository);
+        return repository;
+    }
+}
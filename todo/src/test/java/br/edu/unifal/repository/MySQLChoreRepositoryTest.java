@@ -1,6 +1,196 @@
 package br.edu.unifal.repository;
 
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.enumerator.ChoreFilter;
+import br.edu.unifal.repository.book.ChoreBook;
+import br.edu.unifal.repository.impl.MySQLChoreRepository;
+import br.edu.unifal.repository.pool.ConnectionPool;
+import br.edu.unifal.repository.pool.PooledConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 public class MySQLChoreRepositoryTest {
 
+    private MySQLChoreRepository repository;
+
+    @Mock
+    private ConnectionPool pool;
+
+    @Mock
+    private PooledConnection pooledConnection;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement insertStatement;
+
+    @Mock
+    private PreparedStatement updateStatement;
+
+    @Mock
+    private ResultSet generatedKeys;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        repository = new MySQLChoreRepository(pool, 2);
+        Mockito.when(pool.acquire()).thenReturn(pooledConnection);
+        Mockito.when(pooledConnection.getConnection()).thenReturn(connection);
+        Mockito.when(pooledConnection.prepareStatement(ChoreBook.INSERT_CHORE, Statement.RETURN_GENERATED_KEYS))
+                .thenReturn(insertStatement);
+        Mockito.when(pooledConnection.prepareStatement(ChoreBook.UPDATE_CHORE_WITH_STATUS))
+                .thenReturn(updateStatement);
+        Mockito.when(insertStatement.getGeneratedKeys()).thenReturn(generatedKeys);
+    }
+
+    @Test
+    @DisplayName("#loadPage > When there are chores after the given id > Return the page")
+    void loadPageWhenThereAreChoresAfterTheGivenIdReturnThePage() throws SQLException {
+        PreparedStatement pageStatement = Mockito.mock(PreparedStatement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(pooledConnection.prepareStatement(ChoreBook.FIND_CHORES_PAGE)).thenReturn(pageStatement);
+        Mockito.when(pageStatement.executeQuery()).thenReturn(resultSet);
+        Mockito.when(resultSet.next()).thenReturn(true, false);
+        Mockito.when(resultSet.getLong("id")).thenReturn(11L);
+        Mockito.when(resultSet.getString("description")).thenReturn("Chore #11");
+        Mockito.when(resultSet.getBoolean("isCompleted")).thenReturn(true);
+        Mockito.when(resultSet.getDate("deadline")).thenReturn(Date.valueOf(LocalDate.now()));
+
+        List<Chore> page = repository.loadPage(10L, 5);
+        assertAll(
+                () -> assertEquals(1, page.size()),
+                () -> assertEquals(11L, page.get(0).getId()),
+                () -> assertEquals("Chore #11", page.get(0).getDescription()),
+                () -> Mockito.verify(pageStatement).setLong(1, 10L),
+                () -> Mockito.verify(pageStatement).setInt(2, 5)
+        );
+    }
+
+    @Test
+    @DisplayName("#loadFiltered > When the filter is COMPLETED > Filter on the database")
+    void loadFilteredWhenTheFilterIsCompletedFilterOnTheDatabase() throws SQLException {
+        PreparedStatement statusStatement = Mockito.mock(PreparedStatement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(pooledConnection.prepareStatement(ChoreBook.FIND_CHORES_BY_STATUS)).thenReturn(statusStatement);
+        Mockito.when(statusStatement.executeQuery()).thenReturn(resultSet);
+        Mockito.when(resultSet.next()).thenReturn(true, false);
+        Mockito.when(resultSet.getLong("id")).thenReturn(3L);
+        Mockito.when(resultSet.getString("description")).thenReturn("Chore #03");
+        Mockito.when(resultSet.getBoolean("isCompleted")).thenReturn(true);
+        Mockito.when(resultSet.getDate("deadline")).thenReturn(Date.valueOf(LocalDate.now()));
+
+        List<Chore> chores = repository.loadFiltered(ChoreFilter.COMPLETED);
+        assertAll(
+                () -> assertEquals(1, chores.size()),
+                () -> assertTrue(chores.get(0).getIsCompleted()),
+                () -> Mockito.verify(statusStatement).setBoolean(1, true)
+        );
+    }
+
+    @Test
+    @DisplayName("#saveAll > When the list is null > Return false")
+    void saveAllWhenTheListIsNullReturnFalse() {
+        assertFalse(repository.saveAll(null));
+    }
+
+    @Test
+    @DisplayName("#saveAll > When unable to get a connection > Return false")
+    void saveAllWhenUnableToGetAConnectionReturnFalse() throws SQLException {
+        Mockito.when(pool.acquire()).thenThrow(SQLException.class);
+        assertFalse(repository.saveAll(new ArrayList<>()));
+    }
+
+    @Test
+    @DisplayName("#saveAll > When the chores are saved > Commit each chunk and return true")
+    void saveAllWhenTheChoresAreSavedCommitEachChunkAndReturnTrue() throws SQLException {
+        Mockito.when(generatedKeys.next()).thenReturn(true);
+        Mockito.when(generatedKeys.getLong(1)).thenReturn(10L, 11L, 12L);
+        Mockito.when(updateStatement.executeBatch()).thenReturn(new int[]{1});
+        List<Chore> chores = new ArrayList<>() {{
+            add(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()));
+            add(new Chore("Chore #02", Boolean.FALSE, LocalDate.now()));
+            add(new Chore(5L, "Chore #03", Boolean.TRUE, LocalDate.now()));
+            add(new Chore("Chore #04", Boolean.FALSE, LocalDate.now()));
+        }};
+
+        assertTrue(repository.saveAll(chores));
+        assertAll(
+                () -> assertEquals(10L, chores.get(0).getId()),
+                () -> assertEquals(11L, chores.get(1).getId()),
+                () -> assertEquals(5L, chores.get(2).getId()),
+                () -> assertEquals(12L, chores.get(3).getId()),
+                () -> Mockito.verify(insertStatement, Mockito.times(2)).executeBatch(),
+                () -> Mockito.verify(updateStatement, Mockito.times(1)).executeBatch(),
+                () -> Mockito.verify(connection, Mockito.times(2)).commit()
+        );
+    }
+
+    @Test
+    @DisplayName("#saveAll > When a chunk fails > Rollback and return false")
+    void saveAllWhenAChunkFailsRollbackAndReturnFalse() throws SQLException {
+        Mockito.when(insertStatement.executeBatch()).thenThrow(BatchUpdateException.class);
+        List<Chore> chores = new ArrayList<>() {{
+            add(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()));
+        }};
+
+        assertFalse(repository.saveAll(chores));
+        Mockito.verify(connection).rollback();
+        Mockito.verify(connection, Mockito.never()).commit();
+    }
+
+    @Test
+    @DisplayName("#saveAll > When the commit fails > Leave the new chores without an id")
+    void saveAllWhenTheCommitFailsLeaveTheNewChoresWithoutAnId() throws SQLException {
+        Mockito.when(generatedKeys.next()).thenReturn(true);
+        Mockito.when(generatedKeys.getLong(1)).thenReturn(10L);
+        Mockito.doThrow(SQLException.class).when(connection).commit();
+        List<Chore> chores = new ArrayList<>() {{
+            add(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()));
+        }};
+
+        assertFalse(repository.saveAll(chores));
+        assertAll(
+                () -> assertNull(chores.get(0).getId()),
+                () -> Mockito.verify(connection).rollback()
+        );
+    }
+
+    @Test
+    @DisplayName("#saveAll > When an updated chore is not on the database > Rollback and return false")
+    void saveAllWhenAnUpdatedChoreIsNotOnTheDatabaseRollbackAndReturnFalse() throws SQLException {
+        Mockito.when(updateStatement.executeBatch()).thenReturn(new int[]{1, 0});
+        List<Chore> chores = new ArrayList<>() {{
+            add(new Chore(5L, "Chore #01", Boolean.FALSE, LocalDate.now()));
+            add(new Chore(6L, "Chore #02", Boolean.FALSE, LocalDate.now()));
+        }};
+
+        assertFalse(repository.saveAll(chores));
+        Mockito.verify(connection).rollback();
+        Mockito.verify(connection, Mockito.never()).commit();
+    }
+
+    @Test
+    @DisplayName("#saveAll > When a chore has no status > Save it as uncompleted")
+    void saveAllWhenAChoreHasNoStatusSaveItAsUncompleted() throws SQLException {
+        Mockito.when(generatedKeys.next()).thenReturn(true);
+        Mockito.when(generatedKeys.getLong(1)).thenReturn(10L);
+        List<Chore> chores = new ArrayList<>() {{
+            add(new Chore("Chore #01", null, LocalDate.now()));
+        }};
 
+        assertTrue(repository.saveAll(chores));
+        Mockito.verify(insertStatement).setBoolean(2, false);
+    }
 }
@@ -0,0 +1,113 @@
+package br.edu.unifal.repository;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.repository.impl.PartitionedFileChoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionedFileChoreRepositoryTest {
+
+    @TempDir
+    private Path directory;
+
+    private PartitionedFileChoreRepository repository;
+
+    @BeforeEach
+    void setup() {
+        repository = new PartitionedFileChoreRepository(directory.toString());
+    }
+
+    @Test
+    @DisplayName("#saveAll > When the chores are due on different months > Write one file per month")
+    void saveAllWhenTheChoresAreDueOnDifferentMonthsWriteOneFilePerMonth() {
+        assertTrue(repository.saveAll(chores()));
+
+        assertAll(
+                () -> assertTrue(new File(directory.toFile(), "chores-2024-01.json").exists()),
+                () -> assertTrue(new File(directory.toFile(), "chores-2024-03.json").exists()),
+                () -> assertTrue(new File(directory.toFile(), "chores-undated.json").exists()),
+                () -> assertEquals(4, new PartitionedFileChoreRepository(directory.toString()).load().size())
+        );
+    }
+
+    @Test
+    @DisplayName("#loadDueBetween > When the range covers one month > Read only the chores of the range")
+    void loadDueBetweenWhenTheRangeCoversOneMonthReadOnlyTheChoresOfTheRange() {
+        repository.saveAll(chores());
+
+        List<Chore> chores = new PartitionedFileChoreRepository(directory.toString())
+                .loadDueBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 15));
+
+        assertAll(
+                () -> assertEquals(1, chores.size()),
+                () -> assertEquals("Chore #01", chores.get(0).getDescription())
+        );
+    }
+
+    @Test
+    @DisplayName("#saveAll > When only a month changed > Rewrite only that month")
+    void saveAllWhenOnlyAMonthChangedRewriteOnlyThatMonth() {
+        repository.saveAll(chores());
+        File unchanged = new File(directory.toFile(), "chores-2024-03.json");
+        assertTrue(unchanged.setLastModified(0L));
+
+        List<Chore> chores = repository.load();
+        chores.get(0).setIsCompleted(Boolean.TRUE);
+        assertTrue(repository.saveAll(chores));
+
+        assertEquals(0L, unchanged.lastModified());
+    }
+
+    @Test
+    @DisplayName("#saveAll > When every chore of a loaded month is gone > Delete the month")
+    void saveAllWhenEveryChoreOfALoadedMonthIsGoneDeleteTheMonth() {
+        repository.saveAll(chores());
+
+        List<Chore> chores = repository.load();
+        chores.removeIf(chore -> chore.getDeadline() != null && chore.getDeadline().getMonthValue() == 3);
+        assertTrue(repository.saveAll(chores));
+
+        assertFalse(new File(directory.toFile(), "chores-2024-03.json").exists());
+    }
+
+    @Test
+    @DisplayName("#saveAll > When a month on disk was never read > Keep the chores that weren't given")
+    void saveAllWhenAMonthOnDiskWasNeverReadKeepTheChoresThatWerentGiven() {
+        repository.saveAll(chores());
+
+        PartitionedFileChoreRepository otherRepository = new PartitionedFileChoreRepository(directory.toString());
+        List<Chore> chores = new ArrayList<>();
+        chores.add(new Chore(2L, "Chore #02", Boolean.TRUE, LocalDate.of(2024, 1, 20)));
+        chores.add(new Chore(5L, "Chore #05", Boolean.FALSE, LocalDate.of(2024, 1, 25)));
+        assertTrue(otherRepository.saveAll(chores));
+
+        List<Chore> month = new PartitionedFileChoreRepository(directory.toString())
+                .loadDueBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        assertAll(
+                () -> assertEquals(3, month.size()),
+                () -> assertEquals("Chore #01", month.get(0).getDescription()),
+                () -> assertTrue(month.get(1).getIsCompleted()),
+                () -> assertEquals("Chore #05", month.get(2).getDescription()),
+                () -> assertTrue(new File(directory.toFile(), "chores-2024-03.json").exists())
+        );
+    }
+
+    private static List<Chore> chores() {
+        List<Chore> chores = new ArrayList<>();
+        chores.add(new Chore(1L, "Chore #01", Boolean.FALSE, LocalDate.of(2024, 1, 10)));
+        chores.add(new Chore(2L, "Chore #02", Boolean.FALSE, LocalDate.of(2024, 1, 20)));
+        chores.add(new Chore(3L, "Chore #03", Boolean.TRUE, LocalDate.of(2024, 3, 5)));
+        chores.add(new Chore(4L, "Chore #04", Boolean.FALSE, null));
+        return chores;
+    }
+}
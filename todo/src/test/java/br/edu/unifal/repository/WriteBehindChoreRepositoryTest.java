@@ -0,0 +1,146 @@
+package br.edu.unifal.repository;
+
+import br.edu.unifal.domain.Chore;
+import br.edu.unifal.repository.impl.WriteBehindChoreRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteBehindChoreRepositoryTest {
+
+    private WriteBehindChoreRepository repository;
+
+    @Mock
+    private ChoreRepository delegate;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        // A long interval, so only the explicit flushes write
+        repository = new WriteBehindChoreRepository(delegate, 10, 100, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("#save > When the chore is saved > Acknowledge without writing")
+    void saveWhenTheChoreIsSavedAcknowledgeWithoutWriting() {
+        assertTrue(repository.save(new Chore("Chore #01", Boolean.FALSE, LocalDate.now())));
+        assertEquals(1, repository.getPendingWrites());
+        Mockito.verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("#flush > When a chore is saved and updated > Write a single insert")
+    void flushWhenAChoreIsSavedAndUpdatedWriteASingleInsert() {
+        Mockito.when(delegate.saveBatch(Mockito.anyList())).thenReturn(true);
+        Chore chore = new Chore("Chore #01", Boolean.FALSE, LocalDate.now());
+        repository.save(chore);
+        chore.setIsCompleted(Boolean.TRUE);
+        repository.update(chore);
+        Chore otherChore = new Chore("Chore #02", Boolean.FALSE, LocalDate.now());
+        repository.save(otherChore);
+
+        assertTrue(repository.flush());
+        Mockito.verify(delegate).saveBatch(List.of(chore, otherChore));
+        Mockito.verify(delegate, Mockito.never()).save(Mockito.any());
+        Mockito.verify(delegate, Mockito.never()).update(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("#flush > When new chores are written > Report the ids they got")
+    void flushWhenNewChoresAreWrittenReportTheIdsTheyGot() {
+        Mockito.when(delegate.saveBatch(Mockito.anyList())).thenAnswer(invocation -> {
+            invocation.<List<Chore>>getArgument(0).get(0).setId(10L);
+            return true;
+        });
+        List<Chore> reported = new ArrayList<>();
+        repository.onIdAssigned(reported::add);
+        Chore chore = new Chore("Chore #01", Boolean.FALSE, LocalDate.now());
+        repository.save(chore);
+        Chore updated = new Chore(5L, "Chore #02", Boolean.FALSE, LocalDate.now());
+        repository.update(updated);
+
+        assertTrue(repository.flush());
+        assertEquals(List.of(chore), reported);
+    }
+
+    @Test
+    @DisplayName("#flush > When the write fails > Keep the changes for the next flush")
+    void flushWhenTheWriteFailsKeepTheChangesForTheNextFlush() {
+        Mockito.when(delegate.saveBatch(Mockito.anyList())).thenReturn(false, true);
+        Chore chore = new Chore("Chore #01", Boolean.FALSE, LocalDate.now());
+        repository.save(chore);
+
+        assertFalse(repository.flush());
+        assertEquals(1, repository.getPendingWrites());
+        assertTrue(repository.flush());
+        assertEquals(0, repository.getPendingWrites());
+        Mockito.verify(delegate, Mockito.times(2)).saveBatch(List.of(chore));
+    }
+
+    @Test
+    @DisplayName("#flush > When a chore always fails > Write the others and give it up after the last attempt")
+    void flushWhenAChoreAlwaysFailsWriteTheOthersAndGiveItUpAfterTheLastAttempt() {
+        Chore failing = new Chore("Chore #01", Boolean.FALSE, LocalDate.now());
+        Chore chore = new Chore("Chore #02", Boolean.FALSE, LocalDate.now());
+        Mockito.when(delegate.saveBatch(Mockito.anyList()))
+                .thenAnswer(invocation -> !invocation.<List<Chore>>getArgument(0).contains(failing));
+        try (WriteBehindChoreRepository retrying = new WriteBehindChoreRepository(delegate, 10, 10, 60_000, 2)) {
+            retrying.save(failing);
+            retrying.save(chore);
+
+            assertFalse(retrying.flush());
+            assertEquals(1, retrying.getPendingWrites());
+            Mockito.verify(delegate).saveBatch(List.of(chore));
+
+            assertFalse(retrying.flush());
+            assertAll(
+                    () -> assertEquals(0, retrying.getPendingWrites()),
+                    () -> assertEquals(List.of(failing), retrying.drainDeadLetters()),
+                    () -> assertTrue(retrying.drainDeadLetters().isEmpty()),
+                    () -> assertTrue(retrying.flush())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("#flush > When a chore fails with deletes pending > Write the deletes after the chore")
+    void flushWhenAChoreFailsWithDeletesPendingWriteTheDeletesAfterTheChore() {
+        Mockito.when(delegate.saveBatch(Mockito.anyList())).thenReturn(false, true);
+        Mockito.when(delegate.deleteBatch(Mockito.anyList())).thenReturn(true);
+        Chore chore = new Chore("Chore #01", Boolean.FALSE, LocalDate.now());
+        Chore deleted = new Chore(5L, "Chore #02", Boolean.FALSE, LocalDate.now());
+        repository.save(chore);
+        repository.delete(deleted);
+
+        assertFalse(repository.flush());
+        Mockito.verify(delegate, Mockito.never()).deleteBatch(Mockito.anyList());
+        assertTrue(repository.flush());
+        Mockito.verify(delegate).deleteBatch(List.of(deleted));
+    }
+
+    @Test
+    @DisplayName("#save > When a chore is saved and deleted before a flush > Write nothing")
+    void saveWhenAChoreIsSavedAndDeletedBeforeAFlushWriteNothing() {
+        Chore chore = new Chore("Chore #01", Boolean.FALSE, LocalDate.now());
+        repository.save(chore);
+        repository.delete(chore);
+
+        assertTrue(repository.flush());
+        Mockito.verifyNoInteractions(delegate);
+    }
+}
@@ -1,20 +1,32 @@
 package br.edu.unifal.service;
 
 import br.edu.unifal.domain.Chore;
+import br.edu.unifal.domain.ChoreChanges;
 import br.edu.unifal.enumerator.ChoreFilter;
 import br.edu.unifal.excepition.*;
 import br.edu.unifal.repository.ChoreRepository;
+import br.edu.unifal.repository.impl.WriteBehindChoreRepository;
+import br.edu.unifal.service.store.ColumnarChoreStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,6 +38,9 @@ public class ChoreServiceTest {
     @Mock // esse repositorio vai ser mockado (terá valores ficticios)
     private ChoreRepository repository;
 
+    @Captor
+    private ArgumentCaptor<List<Chore>> saved;
+
     @BeforeEach
     void setup() {
         service = new ChoreService();
@@ -100,6 +115,45 @@ public class ChoreServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("#addChore > When chores are added from many threads > Add every chore")
+    void addChoreWhenChoresAreAddedFromManyThreadsAddEveryChore() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            String description = "Chore #" + i;
+            executor.execute(() -> service.addChore(description, LocalDate.now()));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, service.getChores().size());
+        assertThrows(DuplicatedChoreException.class, () -> service.addChore("Chore #500", LocalDate.now()));
+    }
+
+    @Test
+    @DisplayName("#deleteChore > When chores are deleted while other threads miss the index > Never bring them back")
+    void deleteChoreWhenChoresAreDeletedWhileOtherThreadsMissTheIndexNeverBringThemBack() throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            service.addChore("Chore #" + i, LocalDate.now().plusDays(1));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 500; i += 2) {
+            String description = "Chore #" + i;
+            executor.execute(() -> service.deleteChore(description, LocalDate.now().plusDays(1)));
+            executor.execute(() -> assertThrows(ChoreNotFoundException.class,
+                    () -> service.toggleChore("Missing " + description, LocalDate.now().plusDays(1))));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertAll(
+                () -> assertEquals(250, service.getChores().size()),
+                () -> assertEquals(250, service.getChoresDueBetween(LocalDate.now(), LocalDate.now().plusDays(1)).size()),
+                () -> assertEquals(250, service.searchChores("chore", 500).size()),
+                () -> assertDoesNotThrow(() -> service.addChore("Chore #0", LocalDate.now().plusDays(1)))
+        );
+    }
+
     @Test
     @DisplayName("#deleteChore > When the list is empty > Throw an Exception")
     void deleteChoreWhenTheListIsEmptyThrowAnException() {
@@ -127,6 +181,22 @@ public class ChoreServiceTest {
         assertEquals(0, service.getChores().size());
     }
 
+    @Test
+    @DisplayName("#deleteChore > When other chores share the description or the deadline > Delete only the given chore")
+    void deleteChoreWhenOtherChoresShareTheDescriptionOrTheDeadlineDeleteOnlyTheGivenChore() {
+        service.addChore("Description", LocalDate.now().plusDays(5));
+        service.addChore("Description", LocalDate.now().plusDays(6));
+        service.addChore("Another description", LocalDate.now().plusDays(5));
+
+        assertDoesNotThrow(() -> service.deleteChore("Description", LocalDate.now().plusDays(5)));
+        assertAll(
+                () -> assertEquals(2, service.getChores().size()),
+                () -> assertThrows(ChoreNotFoundException.class,
+                        () -> service.deleteChore("Description", LocalDate.now().plusDays(5))),
+                () -> assertDoesNotThrow(() -> service.addChore("Description", LocalDate.now().plusDays(5)))
+        );
+    }
+
     @Test
     @DisplayName("#toggleChore > When the deadline is valid > Toggle the chore")
     void toggleChoreWhenTheDeadlineIsValidToggleTheChore() {
@@ -138,18 +208,59 @@ public class ChoreServiceTest {
         assertTrue(service.getChores().get(0).getIsCompleted());
     }
 
+    @Test
+    @DisplayName("#toggleChore > When the chore is toggled > Persist the chore")
+    void toggleChoreWhenTheChoreIsToggledPersistTheChore() {
+        Chore chore = service.addChore("Chore #01", LocalDate.now());
+
+        service.toggleChore("Chore #01", LocalDate.now());
+
+        Mockito.verify(repository).update(chore);
+    }
+
     @Test
     @DisplayName("#toggleChore > When the chore doesn't exist > Throw an Exception")
     void toggleChoreWhenTheChoreDoesNotExistThrowAnException() {
         assertThrows(ChoreNotFoundException.class, () -> service.toggleChore("Chore #01", LocalDate.now()));
     }
 
+    @Test
+    @DisplayName("#getChores > When chores are added and deleted between reads > Read every position up to date")
+    void getChoresWhenChoresAreAddedAndDeletedBetweenReadsReadEveryPositionUpToDate() {
+        service.addChore("Chore #01", LocalDate.now());
+        service.addChore("Chore #02", LocalDate.now());
+        assertEquals("Chore #02", service.getChores().get(1).getDescription());
+
+        service.deleteChore("Chore #01", LocalDate.now());
+        service.addChore("Chore #03", LocalDate.now());
+
+        List<Chore> chores = service.getChores();
+        assertAll(
+                () -> assertEquals("Chore #02", chores.get(0).getDescription()),
+                () -> assertEquals("Chore #03", chores.get(1).getDescription()),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> chores.get(2))
+        );
+    }
+
+    @Test
+    @DisplayName("#getChores > When the list is changed from outside the service > Throw an Exception")
+    void getChoresWhenTheListIsChangedFromOutsideTheServiceThrowAnException() {
+        service.addChore("Chore #01", LocalDate.now());
+
+        assertAll(
+                () -> assertThrows(UnsupportedOperationException.class,
+                        () -> service.getChores().add(new Chore("Chore #02", Boolean.FALSE, LocalDate.now()))),
+                () -> assertThrows(UnsupportedOperationException.class, () -> service.getChores().remove(0)),
+                () -> assertThrows(ChoreNotFoundException.class, () -> service.toggleChore("Chore #02", LocalDate.now())),
+                () -> assertEquals(1, service.getChores().size())
+        );
+    }
+
     @Test
     @DisplayName("#toggleChore > When the deadline is invalid > When the status is uncompleted > Toggle the chore")
     void toggleChoreWhenTheDeadlineIsInvalidWhenTheStatusIsUncompletedToggleTheChore() {
-        service.addChore("Chore #01", LocalDate.now());
+        givenChores(new Chore("Chore #01", Boolean.FALSE, LocalDate.now().minusDays(1)));
         assertFalse(service.getChores().get(0).getIsCompleted());
-        service.getChores().get(0).setDeadline(LocalDate.now().minusDays(1));
 
         assertDoesNotThrow(() -> service.toggleChore("Chore #01", LocalDate.now().minusDays(1)));
         assertTrue(service.getChores().get(0).getIsCompleted());
@@ -173,7 +284,7 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#toggleChore > When the deadline is invalid > When the status is completed > Throw an Exception")
     void toggleChoreWhenTheDeadlineIsInvalidWhenTheStatusIsCompletedToggleTheChore() {
-        service.getChores().add(new Chore("Chore #01", Boolean.TRUE, LocalDate.now().minusDays(1)));
+        givenChores(new Chore("Chore #01", Boolean.TRUE, LocalDate.now().minusDays(1)));
         assertThrows(ToggleChoreWithInvalidDeadlineException.class,
                 () -> service.toggleChore("Chore #01", LocalDate.now().minusDays(1)));
     }
@@ -188,8 +299,8 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#filterChores > When the filter is ALL > When the list is not empty > Return all chores")
     void filterChoresWhenTheFilterIsAllWhenTheListIsNotEmptyReturnAllChores() {
-        service.getChores().add(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()));
-        service.getChores().add(new Chore("Chore #02", Boolean.TRUE, LocalDate.now()));
+        givenChores(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()),
+                new Chore("Chore #02", Boolean.TRUE, LocalDate.now()));
         List<Chore> response = service.filterChores(ChoreFilter.ALL);
         assertAll(
                 () -> assertEquals(2, response.size()),
@@ -210,8 +321,8 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#filterChores > When the filter is COMPLETED > When the list is not empty > Return the filtered chores")
     void filterChoresWhenTheFilterIsCompletedWhenTheListIsNotEmptyReturnTheFilteredChores() {
-        service.getChores().add(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()));
-        service.getChores().add(new Chore("Chore #02", Boolean.TRUE, LocalDate.now()));
+        givenChores(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()),
+                new Chore("Chore #02", Boolean.TRUE, LocalDate.now()));
         List<Chore> response = service.filterChores(ChoreFilter.COMPLETED);
         assertAll(
                 () -> assertEquals(1, response.size()),
@@ -230,8 +341,8 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#filterChores > When the filter is UNCOMPLETED > When the list is not empty > Return the filtered chores")
     void filterChoresWhenTheFilterIsUncompletedWhenTheListIsNotEmptyReturnTheFilteredChores() {
-        service.getChores().add(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()));
-        service.getChores().add(new Chore("Chore #02", Boolean.TRUE, LocalDate.now()));
+        givenChores(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()),
+                new Chore("Chore #02", Boolean.TRUE, LocalDate.now()));
         List<Chore> response = service.filterChores(ChoreFilter.UNCOMPLETED);
         assertAll(
                 () -> assertEquals(1, response.size()),
@@ -240,6 +351,71 @@ public class ChoreServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("#getChoresDueBetween > When there are chores inside the range > Return them ordered by deadline")
+    void getChoresDueBetweenWhenThereAreChoresInsideTheRangeReturnThemOrderedByDeadline() {
+        service.addChore("Chore #01", LocalDate.now().plusDays(10));
+        service.addChore("Chore #02", LocalDate.now().plusDays(3));
+        service.addChore("Chore #03", LocalDate.now().plusDays(5));
+        service.editChore("Chore #03", LocalDate.now().plusDays(5), "Chore #03", LocalDate.now().plusDays(1));
+
+        List<Chore> response = service.getChoresDueBetween(LocalDate.now(), LocalDate.now().plusDays(7));
+        assertAll(
+                () -> assertEquals(2, response.size()),
+                () -> assertEquals("Chore #03", response.get(0).getDescription()),
+                () -> assertEquals("Chore #02", response.get(1).getDescription())
+        );
+    }
+
+    @Test
+    @DisplayName("#searchChores > When there are chores with every word > Return them in list order")
+    void searchChoresWhenThereAreChoresWithEveryWordReturnThemInListOrder() {
+        service.addChore("Lavar a louça", LocalDate.now().plusDays(1));
+        service.addChore("Lavar o carro", LocalDate.now().plusDays(2));
+        service.addChore("Guardar a louça", LocalDate.now().plusDays(3));
+        service.addChore("Lavar as louças do jantar", LocalDate.now().plusDays(4));
+
+        List<Chore> response = service.searchChores("lav LOUCA", 10);
+        assertAll(
+                () -> assertEquals(2, response.size()),
+                () -> assertEquals("Lavar a louça", response.get(0).getDescription()),
+                () -> assertEquals("Lavar as louças do jantar", response.get(1).getDescription()),
+                () -> assertEquals(1, service.searchChores("lavar", 1).size())
+        );
+    }
+
+    @Test
+    @DisplayName("#searchChores > When a chore is edited or deleted > Search its current description only")
+    void searchChoresWhenAChoreIsEditedOrDeletedSearchItsCurrentDescriptionOnly() {
+        service.addChore("Lavar a louça", LocalDate.now().plusDays(1));
+        service.addChore("Passear com o cachorro", LocalDate.now().plusDays(2));
+        service.editChore("Lavar a louça", LocalDate.now().plusDays(1), "Secar a louça", LocalDate.now().plusDays(1));
+        service.deleteChore("Passear com o cachorro", LocalDate.now().plusDays(2));
+
+        assertAll(
+                () -> assertTrue(service.searchChores("lavar", 10).isEmpty()),
+                () -> assertEquals("Secar a louça", service.searchChores("sec", 10).get(0).getDescription()),
+                () -> assertTrue(service.searchChores("cachorro", 10).isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("#getNextDueChores > When there are completed chores > Return only the next uncompleted chores")
+    void getNextDueChoresWhenThereAreCompletedChoresReturnOnlyTheNextUncompletedChores() {
+        service.addChore("Chore #01", LocalDate.now().plusDays(1));
+        service.addChore("Chore #02", LocalDate.now().plusDays(2));
+        service.addChore("Chore #03", LocalDate.now().plusDays(3));
+        service.addChore("Chore #04", LocalDate.now().plusDays(4));
+        service.toggleChore("Chore #01", LocalDate.now().plusDays(1));
+
+        List<Chore> response = service.getNextDueChores(2);
+        assertAll(
+                () -> assertEquals(2, response.size()),
+                () -> assertEquals("Chore #02", response.get(0).getDescription()),
+                () -> assertEquals("Chore #03", response.get(1).getDescription())
+        );
+    }
+
     @Test
     @DisplayName("#printChores > When the list is empty > Throw an Exception")
     void printChoresWhenTheListEmptyThrowAnException(){
@@ -249,9 +425,9 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#printChores > When the list is not empty > When the status is TRUE > Print the chores")
     void printChoresWhenTheListIsNotEmptyWhenTheStatusIsTruePrintChores(){
-        service.getChores().add(new Chore("Chore #01", Boolean.TRUE, LocalDate.now().minusDays(5)));
-        service.getChores().add(new Chore("Chore #02", Boolean.TRUE, LocalDate.now().plusDays(9) ));
-        service.getChores().add(new Chore("Chore #03", Boolean.TRUE, LocalDate.now() ));
+        givenChores(new Chore("Chore #01", Boolean.TRUE, LocalDate.now().minusDays(5)),
+                new Chore("Chore #02", Boolean.TRUE, LocalDate.now().plusDays(9) ),
+                new Chore("Chore #03", Boolean.TRUE, LocalDate.now() ));
 
         assertDoesNotThrow(() -> service.printChores());
     }
@@ -259,9 +435,9 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#printChores > When the list is not empty > When the status is FALSE > Print the chores")
     void printChoresWhenTheListIsNotEmptyWhenTheStatusIsFalsePrintChores(){
-        service.getChores().add(new Chore("Chore #01", Boolean.FALSE, LocalDate.now().minusDays(5)));
-        service.getChores().add(new Chore("Chore #02", Boolean.FALSE, LocalDate.now().plusDays(9) ));
-        service.getChores().add(new Chore("Chore #03", Boolean.FALSE, LocalDate.now() ));
+        givenChores(new Chore("Chore #01", Boolean.FALSE, LocalDate.now().minusDays(5)),
+                new Chore("Chore #02", Boolean.FALSE, LocalDate.now().plusDays(9) ),
+                new Chore("Chore #03", Boolean.FALSE, LocalDate.now() ));
 
         assertDoesNotThrow(() -> service.printChores());
     }
@@ -275,14 +451,14 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#editChore > When the chore doesn't exist > Throw an Exception")
     void editChoreWhenTheChoreDoesNotExistThrowAnException(){
-        service.getChores().add(new Chore("I exist!", Boolean.FALSE, LocalDate.now()));
+        givenChores(new Chore("I exist!", Boolean.FALSE, LocalDate.now()));
         assertThrows(ChoreNotFoundException.class, () -> service.editChore("I don't exist :(", LocalDate.now(), "New description", LocalDate.now()));
     }
 
     @Test
     @DisplayName("#editChore > When new description is invalid > Throw an Exception")
     void editChoreWhenNewDescriptionIsInvalidThrowAnException(){
-        service.getChores().add(new Chore("Chore # 01", Boolean.FALSE, LocalDate.now()));
+        givenChores(new Chore("Chore # 01", Boolean.FALSE, LocalDate.now()));
         assertAll(
                 () -> assertThrows(InvalidDescriptionException.class,
                         () -> service.editChore("Chore # 01", LocalDate.now(), null, null)),
@@ -302,7 +478,7 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#editChore > When new deadline is invalid > Throw an Exception")
     void editChoreWhenNewDeadlineIsInvalidThrowAnException(){
-        service.getChores().add(new Chore("Description", Boolean.FALSE, LocalDate.now()));
+        givenChores(new Chore("Description", Boolean.FALSE, LocalDate.now()));
         assertAll(
                 () -> assertThrows(InvalidDeadlineException.class,
                         () -> service.editChore("Description", LocalDate.now(),"Description", null)),
@@ -314,22 +490,38 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#editChore > When the new chore is equal to an existing chore > Throw an Exception")
     void editChoreWhenTheNewChoreIsEqualToAnExistingChore(){
-        service.getChores().add(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()));
-        service.getChores().add(new Chore("Chore #02", Boolean.FALSE, LocalDate.now().plusDays(2)));
+        givenChores(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()),
+                new Chore("Chore #02", Boolean.FALSE, LocalDate.now().plusDays(2)));
         assertThrows(DuplicatedChoreException.class,
                 () -> service.editChore("Chore #02", LocalDate.now().plusDays(2),"Chore #01",  LocalDate.now()));
     }
 
+    @Test
+    @DisplayName("#editChore > When only the description is changed to an existing chore's > Throw an Exception and keep both chores")
+    void editChoreWhenOnlyTheDescriptionIsChangedToAnExistingChoresThrowAnExceptionAndKeepBothChores(){
+        LocalDate deadline = LocalDate.now();
+        givenChores(new Chore("Chore #01", Boolean.FALSE, deadline),
+                new Chore("Chore #02", Boolean.FALSE, deadline));
+
+        assertThrows(DuplicatedChoreException.class,
+                () -> service.editChore("Chore #02", deadline, "Chore #01", deadline));
+        assertAll(
+                () -> assertEquals("Chore #02", service.getChores().get(1).getDescription()),
+                () -> assertDoesNotThrow(() -> service.deleteChore("Chore #01", deadline)),
+                () -> assertDoesNotThrow(() -> service.deleteChore("Chore #02", deadline))
+        );
+    }
+
     @Test
     @DisplayName("#editChore > When trying to edit the status > Nothing happens")
     void editChoreWhenTryingToEditTheStatusNothingHappens(){
-        service.getChores().add(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()));
+        givenChores(new Chore("Chore #01", Boolean.FALSE, LocalDate.now()),
+                new Chore("Chore #02", Boolean.TRUE, LocalDate.now()));
         assertFalse(service.getChores().get(0).getIsCompleted());
 
         assertDoesNotThrow( () -> service.editChore("Chore #01", LocalDate.now(), "Chore #01", LocalDate.now()));
         assertFalse(service.getChores().get(0).getIsCompleted());
 
-        service.getChores().add(new Chore("Chore #02", Boolean.TRUE, LocalDate.now()));
         assertTrue(service.getChores().get(1).getIsCompleted());
 
         assertDoesNotThrow( () -> service.editChore("Chore #02", LocalDate.now(), "Chore #02", LocalDate.now()));
@@ -339,7 +531,7 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#editChore > When editing the description > Edit the description")
     void editChoreWhenEditingTheDescriptionEditTheDescription(){
-        service.getChores().add(new Chore("Old description", Boolean.FALSE, LocalDate.now()));
+        givenChores(new Chore("Old description", Boolean.FALSE, LocalDate.now()));
         assertDoesNotThrow( () -> service.editChore("Old description", LocalDate.now(), "New description", LocalDate.now()));
 
         assertAll(
@@ -351,7 +543,7 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#editChore > When editing the deadline > Edit the deadline")
     void editChoreWhenEditingTheDeadlineEditTheDeadline(){
-        service.getChores().add(new Chore("Old description", Boolean.FALSE, LocalDate.now()));
+        givenChores(new Chore("Old description", Boolean.FALSE, LocalDate.now()));
         assertDoesNotThrow( () -> service.editChore("Old description", LocalDate.now(), "Old description", LocalDate.now().plusDays(5)));
 
         assertAll(
@@ -363,7 +555,7 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#editChore > When editing the deadline and the description > Edit the deadline and description")
     void editChoreWhenEditingTheDeadlineAndTheDescriptionEditTheDeadlineAndDescription(){
-        service.getChores().add(new Chore("Old description", Boolean.FALSE, LocalDate.now()));
+        givenChores(new Chore("Old description", Boolean.FALSE, LocalDate.now()));
         assertDoesNotThrow( () -> service.editChore("Old description", LocalDate.now(), "New description", LocalDate.now().plusDays(5)));
 
         assertAll(
@@ -375,9 +567,9 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#editChore > When editing more than one chore > Edit the chores")
     void editChoreWhenChoreEditedUpdateChoreInTheList(){
-        service.getChores().add(new Chore("Old description #01", Boolean.FALSE, LocalDate.now()));
-        service.getChores().add(new Chore("Old description #02", Boolean.FALSE, LocalDate.now().plusDays(1)));
-        service.getChores().add(new Chore("Old description #03", Boolean.FALSE, LocalDate.now().plusDays(2)));
+        givenChores(new Chore("Old description #01", Boolean.FALSE, LocalDate.now()),
+                new Chore("Old description #02", Boolean.FALSE, LocalDate.now().plusDays(1)),
+                new Chore("Old description #03", Boolean.FALSE, LocalDate.now().plusDays(2)));
 
         assertDoesNotThrow( () -> service.editChore("Old description #01", LocalDate.now(), "New description", LocalDate.now().plusDays(6)));
         assertDoesNotThrow( () -> service.editChore("Old description #02", LocalDate.now().plusDays(1), "Old description #02", LocalDate.now().plusDays(5)));
@@ -402,7 +594,7 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#editChore > When description and deadline are not altered > Chore remains unchanged")
     void editChoreWhenDescriptionAndDeadlineNotAlteredChoreRemainsUnchanged(){
-        service.getChores().add(new Chore("Description", Boolean.FALSE, LocalDate.now()));
+        givenChores(new Chore("Description", Boolean.FALSE, LocalDate.now()));
         assertEquals(Boolean.FALSE, service.getChores().get(0).getIsCompleted());
         assertEquals("Description", service.getChores().get(0).getDescription());
         assertEquals(LocalDate.now(), service.getChores().get(0).getDeadline());
@@ -458,6 +650,46 @@ public class ChoreServiceTest {
         assertFalse(service.saveChores());
     }
 
+    @Test
+    @DisplayName("#saveChoresInBackground > When the save is completed > Save a copy of the chores and return True")
+    void saveChoresInBackgroundWhenTheSaveIsCompletedSaveACopyOfTheChoresAndReturnTrue() throws Exception {
+        givenChores(new Chore(1L, "Chore #01", Boolean.FALSE, LocalDate.now()));
+        Mockito.when(repository.flush()).thenReturn(true);
+        Mockito.when(repository.saveSnapshot(Mockito.anyList())).thenReturn(true);
+
+        assertTrue(service.saveChoresInBackground().get(5, TimeUnit.SECONDS));
+
+        Mockito.verify(repository).saveSnapshot(saved.capture());
+        assertAll(
+                () -> assertEquals(1, saved.getValue().size()),
+                () -> assertEquals("Chore #01", saved.getValue().get(0).getDescription()),
+                () -> assertNotSame(service.getChores().get(0), saved.getValue().get(0))
+        );
+    }
+
+    @Test
+    @DisplayName("#saveChoresInBackground > When new chores are still queued for writing > Save the copies with their ids")
+    void saveChoresInBackgroundWhenNewChoresAreStillQueuedForWritingSaveTheCopiesWithTheirIds() throws Exception {
+        ChoreRepository delegate = Mockito.mock(ChoreRepository.class);
+        AtomicLong ids = new AtomicLong();
+        Mockito.when(delegate.saveBatch(Mockito.anyList())).thenAnswer(invocation -> {
+            invocation.<List<Chore>>getArgument(0).forEach(chore -> chore.setId(ids.incrementAndGet()));
+            return true;
+        });
+        Mockito.when(delegate.saveSnapshot(Mockito.anyList())).thenReturn(true);
+        try (WriteBehindChoreRepository writeBehind = new WriteBehindChoreRepository(delegate, 10, 100, 60_000)) {
+            ChoreService writeBehindService = new ChoreService(writeBehind);
+            writeBehindService.addChore("Chore #01", LocalDate.now());
+            writeBehindService.addChore("Chore #02", LocalDate.now());
+            writeBehindService.addChore("Chore #03", LocalDate.now());
+
+            assertTrue(writeBehindService.saveChoresInBackground().get(5, TimeUnit.SECONDS));
+
+            Mockito.verify(delegate).saveSnapshot(saved.capture());
+            assertEquals(List.of(1L, 2L, 3L), saved.getValue().stream().map(Chore::getId).toList());
+        }
+    }
+
     @Test
     @DisplayName("#updateChore > When the chore doesnt exists > Return False")
     void updateChoreWhenTheChoreDoesNotExistsReturnFalse(){
@@ -468,7 +700,7 @@ public class ChoreServiceTest {
     @Test
     @DisplayName("#updateChore > When the chore exists > Update the chore and return True")
     void updateChoreWhenTheChoreExistsUpdateTheChoreAndReturnTrue(){
-        service.getChores().add(new Chore("Description #01", Boolean.FALSE, LocalDate.now()));
+        givenChores(new Chore("Description #01", Boolean.FALSE, LocalDate.now()));
         service.getChores().get(0).setDescription("Updated description");
         Mockito.when(repository.update(service.getChores().get(0))).thenReturn(Boolean.TRUE);
         
@@ -478,4 +710,248 @@ public class ChoreServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("#syncChores > When chores changed since the last sync > Merge only the changes")
+    void syncChoresWhenChoresChangedSinceTheLastSyncMergeOnlyTheChanges(){
+        LocalDateTime marker = LocalDateTime.now();
+        Chore kept = Chore.builder().id(1L).description("Chore #01").isCompleted(Boolean.FALSE).deadline(LocalDate.now()).build();
+        Chore deleted = Chore.builder().id(2L).description("Chore #02").isCompleted(Boolean.FALSE).deadline(LocalDate.now()).build();
+        Chore changed = Chore.builder().id(1L).description("Chore #01").isCompleted(Boolean.TRUE).deadline(LocalDate.now().plusDays(1)).build();
+        Chore added = Chore.builder().id(3L).description("Chore #03").isCompleted(Boolean.FALSE).deadline(LocalDate.now()).build();
+        Mockito.when(repository.loadChangedSince(null))
+                .thenReturn(new ChoreChanges(new ArrayList<>(List.of(kept, deleted)), List.of(), marker));
+        Mockito.when(repository.loadChangedSince(marker))
+                .thenReturn(new ChoreChanges(List.of(changed, added), List.of(2L), marker.plusMinutes(1)));
+
+        assertTrue(service.syncChores());
+        assertTrue(service.syncChores());
+
+        assertAll(
+                () -> assertEquals(2, service.getChores().size()),
+                () -> assertSame(kept, service.getChores().get(0)),
+                () -> assertTrue(kept.getIsCompleted()),
+                () -> assertEquals(List.of(kept), service.getChoresDueBetween(LocalDate.now().plusDays(1), LocalDate.now().plusDays(1))),
+                () -> assertEquals(3L, service.getChores().get(1).getId())
+        );
+    }
+
+    @Test
+    @DisplayName("#syncChores > When a chore was edited since the last sync > Merge the changes into it under its current key")
+    void syncChoresWhenAChoreWasEditedSinceTheLastSyncMergeTheChangesIntoItUnderItsCurrentKey(){
+        LocalDateTime marker = LocalDateTime.now();
+        Chore chore = Chore.builder().id(1L).description("Chore #01").isCompleted(Boolean.FALSE).deadline(LocalDate.now()).build();
+        Chore changed = Chore.builder().id(1L).description("Chore #03").isCompleted(Boolean.FALSE).deadline(LocalDate.now()).build();
+        Mockito.when(repository.loadChangedSince(null))
+                .thenReturn(new ChoreChanges(new ArrayList<>(List.of(chore)), List.of(), marker));
+        Mockito.when(repository.loadChangedSince(marker))
+                .thenReturn(new ChoreChanges(List.of(changed), List.of(), marker.plusMinutes(1)));
+
+        assertTrue(service.syncChores());
+        service.editById(1L, "Chore #02", LocalDate.now());
+        assertTrue(service.syncChores());
+
+        assertAll(
+                () -> assertEquals(1, service.getChores().size()),
+                () -> assertEquals("Chore #03", service.findById(1L).getDescription()),
+                () -> assertThrows(ChoreNotFoundException.class, () -> service.toggleChore("Chore #02", LocalDate.now())),
+                () -> assertEquals(List.of(chore), service.searchChores("chore", 10))
+        );
+    }
+
+    @Test
+    @DisplayName("#syncChores > When a changed chore takes the key of a deleted one > Keep the changed chore indexed")
+    void syncChoresWhenAChangedChoreTakesTheKeyOfADeletedOneKeepTheChangedChoreIndexed(){
+        LocalDateTime marker = LocalDateTime.now();
+        Chore deleted = Chore.builder().id(1L).description("Chore #01").isCompleted(Boolean.FALSE).deadline(LocalDate.now()).build();
+        Chore renamed = Chore.builder().id(2L).description("Chore #02").isCompleted(Boolean.FALSE).deadline(LocalDate.now()).build();
+        Chore changed = Chore.builder().id(2L).description("Chore #01").isCompleted(Boolean.FALSE).deadline(LocalDate.now()).build();
+        Mockito.when(repository.loadChangedSince(null))
+                .thenReturn(new ChoreChanges(new ArrayList<>(List.of(deleted, renamed)), List.of(), marker));
+        Mockito.when(repository.loadChangedSince(marker))
+                .thenReturn(new ChoreChanges(List.of(changed), List.of(1L), marker.plusMinutes(1)));
+
+        assertTrue(service.syncChores());
+        assertTrue(service.syncChores());
+
+        assertAll(
+                () -> assertEquals(List.of(renamed), service.getChores()),
+                () -> assertThrows(DuplicatedChoreException.class, () -> service.addChore("Chore #01", LocalDate.now())),
+                () -> assertDoesNotThrow(() -> service.toggleChore("Chore #01", LocalDate.now())),
+                () -> assertTrue(renamed.getIsCompleted())
+        );
+    }
+
+    @Test
+    @DisplayName("#addChores > When every chore is valid > Add them and persist them at once")
+    void addChoresWhenEveryChoreIsValidAddThemAndPersistThemAtOnce(){
+        List<Chore> chores = List.of(
+                new Chore("Chore #01", Boolean.TRUE, LocalDate.now()),
+                new Chore("Chore #02", Boolean.FALSE, LocalDate.now().plusDays(1)));
+
+        List<Chore> added = service.addChores(chores);
+
+        assertAll(
+                () -> assertEquals(2, service.getChores().size()),
+                () -> assertFalse(added.get(0).getIsCompleted()),
+                () -> assertEquals("Chore #02", service.getChores().get(1).getDescription())
+        );
+        Mockito.verify(repository).saveBatch(added);
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("#addChores > When a chore is given twice > Throw an exception and add nothing")
+    void addChoresWhenAChoreIsGivenTwiceThrowAnExceptionAndAddNothing(){
+        List<Chore> chores = List.of(
+                new Chore("Chore #01", Boolean.FALSE, LocalDate.now()),
+                new Chore("Chore #01", Boolean.FALSE, LocalDate.now()));
+
+        assertThrows(DuplicatedChoreException.class, () -> service.addChores(chores));
+        assertTrue(service.getChores().isEmpty());
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("#toggleWhere > When chores match the condition > Toggle only them and persist them at once")
+    void toggleWhereWhenChoresMatchTheConditionToggleOnlyThemAndPersistThemAtOnce(){
+        service.addChore("Chore #01", LocalDate.now());
+        service.addChore("Chore #02", LocalDate.now().plusDays(1));
+        service.addChore("Chore #03", LocalDate.now().plusDays(2));
+
+        List<Chore> toggled = service.toggleWhere(chore -> !chore.getDeadline().isAfter(LocalDate.now().plusDays(1)));
+
+        assertAll(
+                () -> assertEquals(2, toggled.size()),
+                () -> assertTrue(service.getChores().get(0).getIsCompleted()),
+                () -> assertTrue(service.getChores().get(1).getIsCompleted()),
+                () -> assertFalse(service.getChores().get(2).getIsCompleted())
+        );
+        Mockito.verify(repository).saveBatch(toggled);
+    }
+
+    @Test
+    @DisplayName("#deleteWhere > When chores match the condition > Delete only them and persist it at once")
+    void deleteWhereWhenChoresMatchTheConditionDeleteOnlyThemAndPersistItAtOnce(){
+        service.addChore("Chore #01", LocalDate.now());
+        service.addChore("Chore #02", LocalDate.now().plusDays(1));
+        service.toggleChore("Chore #01", LocalDate.now());
+
+        List<Chore> deleted = service.deleteWhere(Chore::getIsCompleted);
+
+        assertAll(
+                () -> assertEquals(1, deleted.size()),
+                () -> assertEquals(1, service.getChores().size()),
+                () -> assertEquals("Chore #02", service.getChores().get(0).getDescription()),
+                () -> assertTrue(service.getChoresDueBetween(LocalDate.now(), LocalDate.now()).isEmpty())
+        );
+        Mockito.verify(repository).deleteBatch(deleted);
+    }
+
+    @Test
+    @DisplayName("#findById > When the chore has an id > Return the chore")
+    void findByIdWhenTheChoreHasAnIdReturnTheChore(){
+        Mockito.when(repository.save(Mockito.any())).thenAnswer(invocation -> {
+            invocation.<Chore>getArgument(0).setId(42L);
+            return true;
+        });
+        Chore chore = service.addChore("Chore #01", LocalDate.now());
+
+        assertAll(
+                () -> assertSame(chore, service.findById(42L)),
+                () -> assertNull(service.findById(43L))
+        );
+    }
+
+    @Test
+    @DisplayName("#toggleById and #deleteById > When the chore exists > Toggle and delete it by its id")
+    void toggleByIdAndDeleteByIdWhenTheChoreExistsToggleAndDeleteItByItsId(){
+        Mockito.when(repository.save(Mockito.any())).thenAnswer(invocation -> {
+            invocation.<Chore>getArgument(0).setId(7L);
+            return true;
+        });
+        Chore chore = service.addChore("Chore #01", LocalDate.now());
+
+        service.toggleById(7L);
+        assertTrue(chore.getIsCompleted());
+
+        service.editById(7L, "Chore #02", LocalDate.now().plusDays(1));
+        assertEquals("Chore #02", chore.getDescription());
+
+        service.deleteById(7L);
+        assertAll(
+                () -> assertTrue(service.getChores().isEmpty()),
+                () -> assertNull(service.findById(7L)),
+                () -> assertThrows(ChoreNotFoundException.class, () -> service.toggleById(7L))
+        );
+    }
+
+    @Test
+    @DisplayName("#findById > When the repository gives the chore its id later > Find it once the id is reported")
+    void findByIdWhenTheRepositoryGivesTheChoreItsIdLaterFindItOnceTheIdIsReported(){
+        ChoreRepository delegate = Mockito.mock(ChoreRepository.class);
+        Mockito.when(delegate.saveBatch(Mockito.anyList())).thenAnswer(invocation -> {
+            invocation.<List<Chore>>getArgument(0).forEach(chore -> chore.setId(7L));
+            return true;
+        });
+        try (WriteBehindChoreRepository writeBehind = new WriteBehindChoreRepository(delegate, 10, 100, 60_000)) {
+            ChoreService writeBehindService = new ChoreService(writeBehind);
+            Chore chore = writeBehindService.addChore("Chore #01", LocalDate.now());
+            assertNull(writeBehindService.findById(7L));
+
+            assertTrue(writeBehind.flush());
+            assertSame(chore, writeBehindService.findById(7L));
+        }
+    }
+
+    @Test
+    @DisplayName("#addChores > When the write-behind queue fills up while ids are reported > Add every chore without a deadlock")
+    void addChoresWhenTheWriteBehindQueueFillsUpWhileIdsAreReportedAddEveryChoreWithoutADeadlock(){
+        ChoreRepository delegate = Mockito.mock(ChoreRepository.class);
+        AtomicLong ids = new AtomicLong();
+        Mockito.when(delegate.saveBatch(Mockito.anyList())).thenAnswer(invocation -> {
+            invocation.<List<Chore>>getArgument(0).forEach(chore -> chore.setId(ids.incrementAndGet()));
+            return true;
+        });
+        List<Chore> chores = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            chores.add(new Chore("Chore #" + i, Boolean.FALSE, LocalDate.now()));
+        }
+        try (WriteBehindChoreRepository writeBehind = new WriteBehindChoreRepository(delegate, 10, 20, 50)) {
+            ChoreService writeBehindService = new ChoreService(writeBehind);
+
+            List<Chore> added = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> writeBehindService.addChores(chores));
+            assertTrue(writeBehind.flush());
+
+            assertAll(
+                    () -> assertEquals(200, writeBehindService.getChores().size()),
+                    () -> assertSame(added.get(199), writeBehindService.findById(added.get(199).getId()))
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("#loadColumnarChores > When the load is completed > Return a store with every chore")
+    void loadColumnarChoresWhenTheLoadIsCompletedReturnAStoreWithEveryChore(){
+        Mockito.when(repository.loadEach(Mockito.any())).thenAnswer(invocation -> {
+            Consumer<Chore> consumer = invocation.getArgument(0);
+            consumer.accept(Chore.builder().id(1L).description("Chore #01").isCompleted(Boolean.TRUE).deadline(LocalDate.now()).build());
+            consumer.accept(Chore.builder().id(2L).description("Chore #01").isCompleted(Boolean.FALSE).deadline(LocalDate.now()).build());
+            return true;
+        });
+
+        ColumnarChoreStore store = service.loadColumnarChores();
+
+        assertAll(
+                () -> assertEquals(2, store.size()),
+                () -> assertEquals(1, store.getDistinctDescriptions()),
+                () -> assertEquals(2L, store.get(1).getId()),
+                () -> assertEquals(List.of(1L), store.filter(ChoreFilter.COMPLETED).stream().map(Chore::getId).toList())
+        );
+    }
+
+    // getChores() is read-only, so the chores of a test are loaded from the mocked repository
+    private void givenChores(Chore... chores) {
+        Mockito.when(repository.load()).thenReturn(new ArrayList<>(List.of(chores)));
+        service.loadChores();
+    }
 }